@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected on the command line (all by default) with the GC profiler attached,
+ * so every result reports allocation rate next to throughput. Accepts the usual JMH options.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.game.BacktrackingSudokuSolver;
+import sudoku.game.SudokuBoard;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    private SudokuBoard solved;
+    private SudokuBoard copy;
+
+    @Setup
+    public void setUp() {
+        solved = Puzzles.boardOf(Puzzles.SOLVED, new BacktrackingSudokuSolver());
+        copy = solved.clone();
+    }
+
+    @Benchmark
+    public boolean checkBoard() {
+        return solved.checkBoard();
+    }
+
+    @Benchmark
+    public SudokuBoard cloneBoard() {
+        return solved.clone();
+    }
+
+    @Benchmark
+    public boolean equalsBoard() {
+        return solved.equals(copy);
+    }
+
+    @Benchmark
+    public int hashCodeBoard() {
+        return solved.hashCode();
+    }
+}
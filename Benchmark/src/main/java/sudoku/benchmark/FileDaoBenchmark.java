@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.game.BacktrackingSudokuSolver;
+import sudoku.game.Dao;
+import sudoku.game.FileSudokuBoardDao;
+import sudoku.game.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FileDaoBenchmark {
+    private static final String NAME = "benchmark";
+
+    private Path directory;
+    private Dao<SudokuBoard> dao;
+    private SudokuBoard board;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sudoku-benchmark");
+        dao = new FileSudokuBoardDao(directory.toString());
+        board = Puzzles.boardOf(Puzzles.GIVENS[0], new BacktrackingSudokuSolver());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        dao.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public SudokuBoard writeReadRoundTrip() {
+        dao.write(board, NAME);
+        return dao.read(NAME);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.game.BacktrackingSudokuSolver;
+import sudoku.game.LevelsSudoku;
+import sudoku.game.SudokuBoard;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelsBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD"})
+    private LevelsSudoku level;
+
+    private SudokuBoard solved;
+
+    @Setup
+    public void setUp() {
+        solved = Puzzles.boardOf(Puzzles.SOLVED, new BacktrackingSudokuSolver());
+    }
+
+    @Benchmark
+    public SudokuBoard applyDifficulty() {
+        SudokuBoard board = solved.clone();
+        level.applyDifficulty(board);
+        return board;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.benchmark;
+
+import sudoku.game.SudokuBoard;
+import sudoku.game.SudokuSolver;
+
+final class Puzzles {
+    // Fixed puzzle set, from a few dozen givens down to the sparse end that plain backtracking still handles.
+    static final String[] GIVENS = {
+        "530070000600195000098000060800060003400803001700020006060000280000419005000080079",
+        "003020600900305001001806400008102900700000008006708200002609500800203009005010300",
+        "200080300060070084030500209000105408000000000402706000301007040720040060004010003",
+        "000000907000420180000705026100904000050000040000507009920108000034059000507000000"
+    };
+
+    static final long SEED = 20240601L;
+
+    // A solved grid, so the results do not depend on the generator.
+    static final String SOLVED =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+    private Puzzles() {
+    }
+
+    static SudokuBoard boardOf(String puzzle, SudokuSolver solver) {
+        SudokuBoard board = new SudokuBoard(solver);
+        for (int i = 0; i < puzzle.length(); i++) {
+            int value = puzzle.charAt(i) - '0';
+            if (value != 0) {
+                board.set(i / SudokuBoard.BOARD_SIZE, i % SudokuBoard.BOARD_SIZE, value);
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+
+package sudoku.game;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs {@link Dao} calls on virtual threads and reports the outcome through {@link CompletableFuture}s, so
+ * callers such as the JavaFX Application Thread never block on storage. Every call opens its own DAO from the
+ * opener, so DAOs need not be thread-safe. Writes to the same name are applied in submission order.
+ * With coalescing, a write that is still queued behind a running write to the same name is replaced by a newer
+ * one, and concurrent reads of the same name share one fetch; each reader still gets its own board.
+ */
+public class AsyncSudokuBoardDao implements AutoCloseable {
+    @FunctionalInterface
+    public interface DaoOpener {
+        Dao<SudokuBoard> open() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface DaoCall<R> {
+        R apply(Dao<SudokuBoard> dao) throws Exception;
+    }
+
+    private final DaoOpener opener;
+    private final boolean coalesce;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // The head of each queue is being written; entries behind it have not started.
+    private final Map<String, Deque<PendingWrite>> writeQueues = new HashMap<>();
+    private final Map<String, CompletableFuture<SudokuBoard>> pendingReads = new HashMap<>();
+
+    public AsyncSudokuBoardDao(DaoOpener opener) {
+        this(opener, false);
+    }
+
+    public AsyncSudokuBoardDao(DaoOpener opener, boolean coalesce) {
+        this.opener = opener;
+        this.coalesce = coalesce;
+    }
+
+    /**
+     * Saves a copy of the board, so the board can keep changing while the save runs. The board itself is left
+     * untouched: the future completes with the copy that was stored, which the thread owning the board passes
+     * to {@link SudokuBoard#markSaved}, in completion order. Until then the board stays dirty, so a failed save
+     * loses nothing and the next write of the board carries its changes again.
+     */
+    public CompletableFuture<SudokuBoard> write(SudokuBoard board, String name) {
+        SudokuBoard snapshot = board.clone();
+        boolean start;
+        PendingWrite write;
+        synchronized (this) {
+            Deque<PendingWrite> queue = writeQueues.get(name);
+            start = queue == null;
+            if (start) {
+                queue = new ArrayDeque<>();
+                writeQueues.put(name, queue);
+            }
+            if (coalesce && queue.size() > 1) {
+                PendingWrite waiting = queue.peekLast();
+                waiting.board = snapshot;
+                return waiting.future.copy();
+            }
+            write = new PendingWrite(snapshot);
+            queue.add(write);
+        }
+        if (start) {
+            try {
+                executor.execute(() -> drain(name));
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    for (PendingWrite rejected : writeQueues.remove(name)) {
+                        rejected.future.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+        return write.future.copy();
+    }
+
+    public CompletableFuture<SudokuBoard> read(String name) {
+        if (!coalesce) {
+            return supply(dao -> dao.read(name));
+        }
+        CompletableFuture<SudokuBoard> shared;
+        synchronized (this) {
+            shared = pendingReads.get(name);
+            if (shared == null) {
+                shared = supply(dao -> dao.read(name));
+                pendingReads.put(name, shared);
+                CompletableFuture<SudokuBoard> fetch = shared;
+                shared.whenComplete((board, error) -> {
+                    synchronized (this) {
+                        pendingReads.remove(name, fetch);
+                    }
+                });
+            }
+        }
+        return shared.thenApply(SudokuBoard::clone);
+    }
+
+    public CompletableFuture<List<String>> names() {
+        return supply(Dao::names);
+    }
+
+    // Waits for running and queued writes; calls made afterwards complete exceptionally.
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private void drain(String name) {
+        while (true) {
+            PendingWrite write;
+            SudokuBoard board;
+            synchronized (this) {
+                write = writeQueues.get(name).peekFirst();
+                board = write.board;
+            }
+            Exception failure = null;
+            try (Dao<SudokuBoard> dao = opener.open()) {
+                dao.save(board, name);
+            } catch (Exception e) {
+                failure = e;
+            }
+            // Dequeue before completing, so that a throwing callback cannot stall the queue.
+            boolean more;
+            synchronized (this) {
+                Deque<PendingWrite> queue = writeQueues.get(name);
+                queue.pollFirst();
+                more = !queue.isEmpty();
+                if (!more) {
+                    writeQueues.remove(name);
+                }
+            }
+            if (failure == null) {
+                write.future.complete(board);
+            } else {
+                write.future.completeExceptionally(failure);
+            }
+            if (!more) {
+                return;
+            }
+        }
+    }
+
+    private <R> CompletableFuture<R> supply(DaoCall<R> call) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try (Dao<SudokuBoard> dao = opener.open()) {
+                    future.complete(call.apply(dao));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static final class PendingWrite {
+        private SudokuBoard board;
+        private final CompletableFuture<SudokuBoard> future = new CompletableFuture<>();
+
+        private PendingWrite(SudokuBoard board) {
+            this.board = board;
+        }
+    }
+}
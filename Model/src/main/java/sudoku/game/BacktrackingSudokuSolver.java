@@ -11,34 +11,181 @@ package sudoku.game;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
+/**
+ * Thread-safe: every solve or count allocates its own search state, so boards sharing a solver
+ * (e.g. clones) may be solved concurrently. Statistics are kept per call, but only the last call to finish
+ * publishes them: with concurrent solves, {@link #getStatistics()} may return another thread's counters.
+ */
 public class BacktrackingSudokuSolver implements SudokuSolver, Serializable {
     private static final long serialVersionUID = 1L;
     private static final int BOARD_SIZE = 9;
 
+    // Guarded by this; only used to split off per-call generators and by shuffledNumbers().
+    private transient SplittableRandom random;
+    private transient volatile boolean statisticsEnabled;
+    private transient volatile SolverStatistics statistics;
+
+    public BacktrackingSudokuSolver() {
+        this.random = new SplittableRandom();
+    }
+
+    // The same seed gives the same sequence of solutions for the same sequence of boards.
+    public BacktrackingSudokuSolver(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
     @Override
     public boolean solve(SudokuBoard board) {
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board.get(i, j) == 0) {  
-                    List<Integer> numbers = shuffledNumbers();
-                    for (int number : numbers) {
-                        if (isSafe(i, j, number, board)) {  
-                            board.set(i, j, number);  
-                            if (this.solve(board)) {  
-                                return true;
+        return solve(board, null) == SolveResult.SOLVED;
+    }
+
+    @Override
+    public SolveResult solve(SudokuBoard board, SolveLimit limit) {
+        Search search = new Search(splitRandom(), limit, statisticsEnabled);
+        boolean solved = search.fill(board, 0);
+        finishStatistics(search);
+        if (solved) {
+            return SolveResult.SOLVED;
+        }
+        return search.stopped ? SolveResult.BUDGET_EXCEEDED : SolveResult.UNSOLVABLE;
+    }
+
+    @Override
+    public int countSolutions(SudokuBoard board, int limit) {
+        Search search = new Search(null, null, statisticsEnabled);
+        int found = limit > 0 ? search.countOnCopy(board.clone(), limit) : 0;
+        finishStatistics(search);
+        return found;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+        statistics = null;
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void finishStatistics(Search search) {
+        if (search.statistics != null) {
+            search.statistics.finish();
+        }
+        statistics = search.statistics;
+    }
+
+    private synchronized SplittableRandom splitRandom() {
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+        return random.split();
+    }
+
+    private final class Search {
+        private final SplittableRandom random;
+        private final int[][] orders;
+        private final SolveLimit solveLimit;
+        private final SolverStatistics statistics;
+        private long nodes;
+        private boolean stopped;
+
+        private Search(SplittableRandom random, SolveLimit solveLimit, boolean collectStatistics) {
+            this.random = random;
+            this.orders = random == null ? null : new int[BOARD_SIZE * BOARD_SIZE + 1][BOARD_SIZE];
+            this.solveLimit = solveLimit;
+            this.statistics = collectStatistics ? new SolverStatistics() : null;
+        }
+
+        private boolean fill(SudokuBoard board, int depth) {
+            if (statistics != null) {
+                statistics.node(depth);
+            }
+            if (stopRequested()) {
+                return false;
+            }
+            for (int i = 0; i < BOARD_SIZE; i++) {
+                for (int j = 0; j < BOARD_SIZE; j++) {
+                    if (board.get(i, j) == 0) {
+                        int[] numbers = orders[depth];
+                        for (int k = 0; k < BOARD_SIZE; k++) {
+                            numbers[k] = k + 1;
+                        }
+                        shuffle(numbers, random);
+                        for (int number : numbers) {
+                            if (isSafe(i, j, number, board)) {
+                                board.set(i, j, number);
+                                if (fill(board, depth + 1)) {
+                                    return true;
+                                }
+                                board.getSudokuField(i,j).setUnsolvedValue();
+                                if (statistics != null) {
+                                    statistics.backtrack();
+                                }
                             }
-                            board.getSudokuField(i,j).setUnsolvedValue(); 
                         }
+                        return false;
                     }
-                    return false;  
                 }
             }
+            return true;
+        }
+
+        private boolean stopRequested() {
+            if (solveLimit == null) {
+                return false;
+            }
+            if (!stopped && solveLimit.isExceeded(++nodes)) {
+                stopped = true;
+            }
+            return stopped;
+        }
+
+        private int countOnCopy(SudokuBoard copy, int limit) {
+            for (int i = 0; i < BOARD_SIZE; i++) {
+                for (int j = 0; j < BOARD_SIZE; j++) {
+                    int value = copy.get(i, j);
+                    if (value != 0) {
+                        copy.setToDefault(i, j);
+                        boolean safe = isSafe(i, j, value, copy);
+                        copy.set(i, j, value);
+                        if (!safe) {
+                            return 0;
+                        }
+                    }
+                }
+            }
+            return count(copy, 0, limit);
+        }
+
+        private int count(SudokuBoard board, int depth, int limit) {
+            if (statistics != null) {
+                statistics.node(depth);
+            }
+            for (int i = 0; i < BOARD_SIZE; i++) {
+                for (int j = 0; j < BOARD_SIZE; j++) {
+                    if (board.get(i, j) == 0) {
+                        int found = 0;
+                        for (int number = 1; number <= BOARD_SIZE && found < limit; number++) {
+                            if (isSafe(i, j, number, board)) {
+                                board.set(i, j, number);
+                                found += count(board, depth + 1, limit - found);
+                                board.setToDefault(i, j);
+                                if (statistics != null) {
+                                    statistics.backtrack();
+                                }
+                            }
+                        }
+                        return found;
+                    }
+                }
+            }
+            return 1;
         }
-        return true;  
     }
 
     public boolean isSafe(int row, int col, int num, SudokuBoard board) {
@@ -68,11 +215,24 @@ public class BacktrackingSudokuSolver implements SudokuSolver, Serializable {
     }
 
     public List<Integer> shuffledNumbers() {
-        List<Integer> numbers = new ArrayList<>();
-        for (int num = 1; num <= BOARD_SIZE; num++) {
-            numbers.add(num);
+        int[] order = new int[BOARD_SIZE];
+        for (int k = 0; k < BOARD_SIZE; k++) {
+            order[k] = k + 1;
+        }
+        shuffle(order, splitRandom());
+        List<Integer> numbers = new ArrayList<>(BOARD_SIZE);
+        for (int number : order) {
+            numbers.add(number);
         }
-        Collections.shuffle(numbers, new Random());
         return numbers;
     }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
 }
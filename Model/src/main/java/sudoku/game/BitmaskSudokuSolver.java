@@ -0,0 +1,296 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Backtracking solver that keeps row, column and box occupancy as 9-bit masks.
+ * Bit {@code d - 1} of a mask is set when digit {@code d} is already placed in that unit,
+ * so the candidates of a cell are a single AND of the three complemented masks, which makes it cheap
+ * to branch on the empty cell with the fewest candidates.
+ * Search state is allocated once per solver instance and reused, so instances are not thread-safe.
+ */
+public class BitmaskSudokuSolver implements SudokuSolver, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int BOARD_SIZE = 9;
+    private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    private static final int ALL_DIGITS = (1 << BOARD_SIZE) - 1;
+    private static final int STOP_CHECK_INTERVAL = 1024;
+    private static final int[] ROW = new int[CELLS];
+    private static final int[] COL = new int[CELLS];
+    private static final int[] BOX = new int[CELLS];
+
+    static {
+        for (int i = 0; i < CELLS; i++) {
+            ROW[i] = i / BOARD_SIZE;
+            COL[i] = i % BOARD_SIZE;
+            BOX[i] = ROW[i] / 3 * 3 + COL[i] / 3;
+        }
+    }
+
+    private transient int[] cells;
+    private transient int[] rowMask;
+    private transient int[] colMask;
+    private transient int[] boxMask;
+    private transient int[] emptyCells;
+    private transient int emptyCount;
+    private transient AtomicBoolean stopSignal;
+    private transient SolveLimit solveLimit;
+    private transient long nodes;
+    private transient boolean stopped;
+    private transient boolean statisticsEnabled;
+    private transient SolverStatistics statistics;
+
+    @Override
+    public boolean solve(SudokuBoard board) {
+        startStatistics();
+        boolean solved = load(board) && search(0);
+        if (solved) {
+            for (int k = 0; k < emptyCount; k++) {
+                int index = emptyCells[k];
+                board.set(ROW[index], COL[index], cells[index]);
+            }
+        }
+        finishStatistics();
+        return solved;
+    }
+
+    @Override
+    public SolveResult solve(SudokuBoard board, SolveLimit limit) {
+        solveLimit = limit;
+        try {
+            if (solve(board)) {
+                return SolveResult.SOLVED;
+            }
+            return stopped ? SolveResult.BUDGET_EXCEEDED : SolveResult.UNSOLVABLE;
+        } finally {
+            solveLimit = null;
+        }
+    }
+
+    @Override
+    public int countSolutions(SudokuBoard board, int limit) {
+        startStatistics();
+        int found = limit > 0 && load(board) ? count(0, limit) : 0;
+        finishStatistics();
+        return found;
+    }
+
+    int countSolutions(int[] grid, int limit) {
+        startStatistics();
+        ensureState();
+        System.arraycopy(grid, 0, cells, 0, CELLS);
+        int found = limit > 0 && prepare() ? count(0, limit) : 0;
+        finishStatistics();
+        return found;
+    }
+
+    SolveResult solve(int[] grid, SolveLimit limit) {
+        solveLimit = limit;
+        try {
+            if (solve(grid)) {
+                return SolveResult.SOLVED;
+            }
+            return stopped ? SolveResult.BUDGET_EXCEEDED : SolveResult.UNSOLVABLE;
+        } finally {
+            solveLimit = null;
+        }
+    }
+
+    // Nodes visited by the last search.
+    long nodes() {
+        return nodes;
+    }
+
+    boolean solve(int[] grid) {
+        startStatistics();
+        ensureState();
+        System.arraycopy(grid, 0, cells, 0, CELLS);
+        boolean solved = prepare() && search(0);
+        if (solved) {
+            System.arraycopy(cells, 0, grid, 0, CELLS);
+        }
+        finishStatistics();
+        return solved;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+        statistics = null;
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void startStatistics() {
+        statistics = statisticsEnabled ? new SolverStatistics() : null;
+    }
+
+    private void finishStatistics() {
+        if (statistics != null) {
+            statistics.finish();
+        }
+    }
+
+    // Search gives up soon after the signal is raised; a stopped search reports no (further) solutions.
+    void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    private boolean stopRequested() {
+        if (stopped) {
+            return true;
+        }
+        nodes++;
+        if (solveLimit != null && solveLimit.isExceeded(nodes)) {
+            stopped = true;
+        } else if (stopSignal != null && nodes % STOP_CHECK_INTERVAL == 0) {
+            stopped = stopSignal.get();
+        }
+        return stopped;
+    }
+
+    private void ensureState() {
+        if (cells == null) {
+            cells = new int[CELLS];
+            rowMask = new int[BOARD_SIZE];
+            colMask = new int[BOARD_SIZE];
+            boxMask = new int[BOARD_SIZE];
+            emptyCells = new int[CELLS];
+        }
+    }
+
+    private boolean load(SudokuBoard board) {
+        ensureState();
+        for (int index = 0; index < CELLS; index++) {
+            cells[index] = board.get(ROW[index], COL[index]);
+        }
+        return prepare();
+    }
+
+    private boolean prepare() {
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            rowMask[i] = 0;
+            colMask[i] = 0;
+            boxMask[i] = 0;
+        }
+        emptyCount = 0;
+        nodes = 0;
+        stopped = false;
+
+        for (int index = 0; index < CELLS; index++) {
+            int value = cells[index];
+            if (value == 0) {
+                emptyCells[emptyCount++] = index;
+                continue;
+            }
+            int bit = 1 << (value - 1);
+            if (((rowMask[ROW[index]] | colMask[COL[index]] | boxMask[BOX[index]]) & bit) != 0) {
+                return false;
+            }
+            rowMask[ROW[index]] |= bit;
+            colMask[COL[index]] |= bit;
+            boxMask[BOX[index]] |= bit;
+        }
+        return true;
+    }
+
+    private int candidates(int index) {
+        return ~(rowMask[ROW[index]] | colMask[COL[index]] | boxMask[BOX[index]]) & ALL_DIGITS;
+    }
+
+    // Moves the remaining empty cell with the fewest candidates to position depth and returns its candidates.
+    private int selectCell(int depth) {
+        int best = depth;
+        int bestCandidates = candidates(emptyCells[depth]);
+        for (int k = depth + 1; k < emptyCount && Integer.bitCount(bestCandidates) > 1; k++) {
+            int mask = candidates(emptyCells[k]);
+            if (Integer.bitCount(mask) < Integer.bitCount(bestCandidates)) {
+                best = k;
+                bestCandidates = mask;
+            }
+        }
+        int chosen = emptyCells[best];
+        emptyCells[best] = emptyCells[depth];
+        emptyCells[depth] = chosen;
+        return bestCandidates;
+    }
+
+    private void place(int index, int bit) {
+        rowMask[ROW[index]] |= bit;
+        colMask[COL[index]] |= bit;
+        boxMask[BOX[index]] |= bit;
+        cells[index] = Integer.numberOfTrailingZeros(bit) + 1;
+    }
+
+    private void remove(int index, int bit) {
+        rowMask[ROW[index]] ^= bit;
+        colMask[COL[index]] ^= bit;
+        boxMask[BOX[index]] ^= bit;
+        cells[index] = 0;
+        if (statistics != null) {
+            statistics.backtrack();
+        }
+    }
+
+    private boolean search(int depth) {
+        if (statistics != null) {
+            statistics.node(depth);
+        }
+        if (depth == emptyCount) {
+            return true;
+        }
+        if (stopRequested()) {
+            return false;
+        }
+        int candidates = selectCell(depth);
+        int index = emptyCells[depth];
+
+        while (candidates != 0) {
+            int bit = candidates & -candidates;
+            candidates ^= bit;
+            place(index, bit);
+            if (search(depth + 1)) {
+                return true;
+            }
+            remove(index, bit);
+        }
+        return false;
+    }
+
+    private int count(int depth, int limit) {
+        if (statistics != null) {
+            statistics.node(depth);
+        }
+        if (depth == emptyCount) {
+            return 1;
+        }
+        if (stopRequested()) {
+            return 0;
+        }
+        int candidates = selectCell(depth);
+        int index = emptyCells[depth];
+
+        int found = 0;
+        while (candidates != 0 && found < limit) {
+            int bit = candidates & -candidates;
+            candidates ^= bit;
+            place(index, bit);
+            found += count(depth + 1, limit - found);
+            remove(index, bit);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.io.Serializable;
+
+/**
+ * Solver that propagates naked and hidden singles to a fixpoint before every branch
+ * and then branches on the unassigned cell with the fewest candidates.
+ * Candidate masks use bit {@code d - 1} for digit {@code d}. One state copy per search depth
+ * is allocated with the solver and reused, so instances are not thread-safe.
+ */
+public class ConstraintPropagationSudokuSolver implements SudokuSolver, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int BOARD_SIZE = 9;
+    private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    private static final int ALL_DIGITS = (1 << BOARD_SIZE) - 1;
+    private static final int[][] UNITS = new int[3 * BOARD_SIZE][BOARD_SIZE];
+    private static final int[][] PEERS = new int[CELLS][20];
+
+    static {
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                UNITS[i][j] = i * BOARD_SIZE + j;
+                UNITS[BOARD_SIZE + i][j] = j * BOARD_SIZE + i;
+                UNITS[2 * BOARD_SIZE + i][j] = (i / 3 * 3 + j / 3) * BOARD_SIZE + i % 3 * 3 + j % 3;
+            }
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            int row = cell / BOARD_SIZE;
+            int col = cell % BOARD_SIZE;
+            int count = 0;
+            for (int other = 0; other < CELLS; other++) {
+                int otherRow = other / BOARD_SIZE;
+                int otherCol = other % BOARD_SIZE;
+                boolean sameBox = row / 3 == otherRow / 3 && col / 3 == otherCol / 3;
+                if (other != cell && (row == otherRow || col == otherCol || sameBox)) {
+                    PEERS[cell][count++] = other;
+                }
+            }
+        }
+    }
+
+    private transient int[][] candidates;
+    private transient int[][] values;
+    private transient int[] queue;
+    private transient int queueHead;
+    private transient int queueSize;
+    private transient int solvedDepth;
+    private transient SolveLimit solveLimit;
+    private transient long nodes;
+    private transient boolean stopped;
+    private transient boolean statisticsEnabled;
+    private transient SolverStatistics statistics;
+
+    @Override
+    public boolean solve(SudokuBoard board) {
+        startStatistics();
+        boolean solved = load(board) && search(0);
+        if (solved) {
+            int[] solution = values[solvedDepth];
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (board.get(cell / BOARD_SIZE, cell % BOARD_SIZE) == 0) {
+                    board.set(cell / BOARD_SIZE, cell % BOARD_SIZE, solution[cell]);
+                }
+            }
+        }
+        finishStatistics();
+        return solved;
+    }
+
+    @Override
+    public SolveResult solve(SudokuBoard board, SolveLimit limit) {
+        solveLimit = limit;
+        try {
+            if (solve(board)) {
+                return SolveResult.SOLVED;
+            }
+            return stopped ? SolveResult.BUDGET_EXCEEDED : SolveResult.UNSOLVABLE;
+        } finally {
+            solveLimit = null;
+        }
+    }
+
+    @Override
+    public int countSolutions(SudokuBoard board, int limit) {
+        startStatistics();
+        int found = limit > 0 && load(board) ? count(0, limit) : 0;
+        finishStatistics();
+        return found;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+        statistics = null;
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void startStatistics() {
+        statistics = statisticsEnabled ? new SolverStatistics() : null;
+    }
+
+    private void finishStatistics() {
+        if (statistics != null) {
+            statistics.finish();
+        }
+    }
+
+    private boolean load(SudokuBoard board) {
+        if (candidates == null) {
+            candidates = new int[CELLS + 1][CELLS];
+            values = new int[CELLS + 1][CELLS];
+            queue = new int[CELLS];
+        }
+        int[] cand = candidates[0];
+        int[] val = values[0];
+        for (int cell = 0; cell < CELLS; cell++) {
+            cand[cell] = ALL_DIGITS;
+            val[cell] = 0;
+        }
+        queueHead = 0;
+        queueSize = 0;
+        nodes = 0;
+        stopped = false;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int value = board.get(cell / BOARD_SIZE, cell % BOARD_SIZE);
+            if (value != 0 && !assign(cand, val, cell, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean search(int depth) {
+        if (statistics != null) {
+            statistics.node(depth);
+        }
+        int[] cand = candidates[depth];
+        int[] val = values[depth];
+        if (stopRequested() || !propagate(cand, val)) {
+            return false;
+        }
+
+        int branchCell = fewestCandidatesCell(cand, val);
+        if (branchCell < 0) {
+            solvedDepth = depth;
+            return true;
+        }
+
+        int options = cand[branchCell];
+        while (options != 0) {
+            int bit = options & -options;
+            options ^= bit;
+            if (branch(depth, branchCell, bit) && search(depth + 1)) {
+                return true;
+            }
+            if (statistics != null) {
+                statistics.backtrack();
+            }
+        }
+        return false;
+    }
+
+    private int count(int depth, int limit) {
+        if (statistics != null) {
+            statistics.node(depth);
+        }
+        int[] cand = candidates[depth];
+        int[] val = values[depth];
+        if (!propagate(cand, val)) {
+            return 0;
+        }
+        int branchCell = fewestCandidatesCell(cand, val);
+        if (branchCell < 0) {
+            return 1;
+        }
+
+        int found = 0;
+        int options = cand[branchCell];
+        while (options != 0 && found < limit) {
+            int bit = options & -options;
+            options ^= bit;
+            if (branch(depth, branchCell, bit)) {
+                found += count(depth + 1, limit - found);
+            }
+            if (statistics != null) {
+                statistics.backtrack();
+            }
+        }
+        return found;
+    }
+
+    private boolean stopRequested() {
+        if (!stopped && solveLimit != null && solveLimit.isExceeded(++nodes)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private int fewestCandidatesCell(int[] cand, int[] val) {
+        int branchCell = -1;
+        int fewest = BOARD_SIZE + 1;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (val[cell] == 0) {
+                int count = Integer.bitCount(cand[cell]);
+                if (count < fewest) {
+                    fewest = count;
+                    branchCell = cell;
+                }
+            }
+        }
+        return branchCell;
+    }
+
+    // Copies the state of the given depth one level down and assigns the branch digit there.
+    private boolean branch(int depth, int cell, int bit) {
+        System.arraycopy(candidates[depth], 0, candidates[depth + 1], 0, CELLS);
+        System.arraycopy(values[depth], 0, values[depth + 1], 0, CELLS);
+        queueHead = 0;
+        queueSize = 0;
+        return assign(candidates[depth + 1], values[depth + 1], cell, Integer.numberOfTrailingZeros(bit) + 1);
+    }
+
+    private boolean propagate(int[] cand, int[] val) {
+        boolean changed = true;
+        while (changed) {
+            while (queueSize > 0) {
+                int cell = queue[queueHead];
+                queueHead = (queueHead + 1) % CELLS;
+                queueSize--;
+                if (val[cell] != 0) {
+                    continue;
+                }
+                if (statistics != null) {
+                    statistics.propagation();
+                }
+                if (!assign(cand, val, cell, Integer.numberOfTrailingZeros(cand[cell]) + 1)) {
+                    return false;
+                }
+            }
+
+            changed = false;
+            for (int[] unit : UNITS) {
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int cell : unit) {
+                    int mask = cand[cell];
+                    twice |= once & mask;
+                    once |= mask;
+                    if (val[cell] != 0) {
+                        placed |= mask;
+                    }
+                }
+                if (once != ALL_DIGITS) {
+                    return false;
+                }
+                int hiddenSingles = once & ~twice & ~placed;
+                while (hiddenSingles != 0) {
+                    int bit = hiddenSingles & -hiddenSingles;
+                    hiddenSingles ^= bit;
+                    if (!assignHiddenSingle(cand, val, unit, bit)) {
+                        return false;
+                    }
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean assignHiddenSingle(int[] cand, int[] val, int[] unit, int bit) {
+        for (int cell : unit) {
+            if ((cand[cell] & bit) != 0) {
+                if (statistics != null) {
+                    statistics.propagation();
+                }
+                return assign(cand, val, cell, Integer.numberOfTrailingZeros(bit) + 1);
+            }
+        }
+        return false;
+    }
+
+    private boolean assign(int[] cand, int[] val, int cell, int value) {
+        int bit = 1 << (value - 1);
+        if ((cand[cell] & bit) == 0) {
+            return false;
+        }
+        cand[cell] = bit;
+        val[cell] = value;
+        for (int peer : PEERS[cell]) {
+            int mask = cand[peer];
+            if ((mask & bit) == 0) {
+                continue;
+            }
+            mask &= ~bit;
+            if (mask == 0) {
+                return false;
+            }
+            cand[peer] = mask;
+            if (val[peer] == 0 && (mask & (mask - 1)) == 0) {
+                queue[(queueHead + queueSize) % CELLS] = peer;
+                queueSize++;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.io.Serializable;
+
+/**
+ * Algorithm X over the Sudoku exact-cover matrix, implemented with dancing links.
+ * The 729 candidate rows and 324 constraint columns are laid out once in static template arrays;
+ * every solve copies the template into the instance's node arrays, so no nodes are allocated per solve.
+ * Instances are not thread-safe.
+ */
+public class DancingLinksSudokuSolver implements SudokuSolver, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int BOARD_SIZE = 9;
+    private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    private static final int COLUMNS = 4 * CELLS;
+    private static final int ROWS = CELLS * BOARD_SIZE;
+    private static final int NODES_PER_ROW = 4;
+    private static final int ROOT = 0;
+    private static final int FIRST_ROW_NODE = COLUMNS + 1;
+    private static final int NODE_COUNT = FIRST_ROW_NODE + ROWS * NODES_PER_ROW;
+
+    private static final int[] TEMPLATE_LEFT = new int[NODE_COUNT];
+    private static final int[] TEMPLATE_RIGHT = new int[NODE_COUNT];
+    private static final int[] TEMPLATE_UP = new int[NODE_COUNT];
+    private static final int[] TEMPLATE_DOWN = new int[NODE_COUNT];
+    private static final int[] TEMPLATE_SIZE = new int[COLUMNS + 1];
+    private static final int[] COLUMN_OF = new int[NODE_COUNT];
+
+    static {
+        for (int c = 0; c <= COLUMNS; c++) {
+            TEMPLATE_LEFT[c] = c == 0 ? COLUMNS : c - 1;
+            TEMPLATE_RIGHT[c] = c == COLUMNS ? 0 : c + 1;
+            TEMPLATE_UP[c] = c;
+            TEMPLATE_DOWN[c] = c;
+            COLUMN_OF[c] = c;
+        }
+        for (int rowId = 0; rowId < ROWS; rowId++) {
+            int cell = rowId / BOARD_SIZE;
+            int digit = rowId % BOARD_SIZE;
+            int row = cell / BOARD_SIZE;
+            int col = cell % BOARD_SIZE;
+            int box = row / 3 * 3 + col / 3;
+            int[] columns = {
+                1 + cell,
+                1 + CELLS + row * BOARD_SIZE + digit,
+                1 + 2 * CELLS + col * BOARD_SIZE + digit,
+                1 + 3 * CELLS + box * BOARD_SIZE + digit
+            };
+            int first = FIRST_ROW_NODE + rowId * NODES_PER_ROW;
+            for (int k = 0; k < NODES_PER_ROW; k++) {
+                int node = first + k;
+                int column = columns[k];
+                TEMPLATE_LEFT[node] = first + (k + NODES_PER_ROW - 1) % NODES_PER_ROW;
+                TEMPLATE_RIGHT[node] = first + (k + 1) % NODES_PER_ROW;
+                TEMPLATE_UP[node] = TEMPLATE_UP[column];
+                TEMPLATE_DOWN[node] = column;
+                TEMPLATE_DOWN[TEMPLATE_UP[column]] = node;
+                TEMPLATE_UP[column] = node;
+                COLUMN_OF[node] = column;
+                TEMPLATE_SIZE[column]++;
+            }
+        }
+    }
+
+    private transient int[] left;
+    private transient int[] right;
+    private transient int[] up;
+    private transient int[] down;
+    private transient int[] size;
+    private transient int[] solution;
+    private transient int solutionLength;
+    private transient SolveLimit solveLimit;
+    private transient long nodes;
+    private transient boolean stopped;
+    private transient boolean statisticsEnabled;
+    private transient SolverStatistics statistics;
+
+    @Override
+    public boolean solve(SudokuBoard board) {
+        startStatistics();
+        boolean solved = load(board) && search();
+        if (solved) {
+            for (int k = 0; k < solutionLength; k++) {
+                int rowId = (solution[k] - FIRST_ROW_NODE) / NODES_PER_ROW;
+                int cell = rowId / BOARD_SIZE;
+                board.set(cell / BOARD_SIZE, cell % BOARD_SIZE, rowId % BOARD_SIZE + 1);
+            }
+        }
+        finishStatistics();
+        return solved;
+    }
+
+    @Override
+    public SolveResult solve(SudokuBoard board, SolveLimit limit) {
+        solveLimit = limit;
+        try {
+            if (solve(board)) {
+                return SolveResult.SOLVED;
+            }
+            return stopped ? SolveResult.BUDGET_EXCEEDED : SolveResult.UNSOLVABLE;
+        } finally {
+            solveLimit = null;
+        }
+    }
+
+    @Override
+    public int countSolutions(SudokuBoard board, int limit) {
+        startStatistics();
+        int found = limit > 0 && load(board) ? count(0, limit) : 0;
+        finishStatistics();
+        return found;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+        statistics = null;
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void startStatistics() {
+        statistics = statisticsEnabled ? new SolverStatistics() : null;
+    }
+
+    private void finishStatistics() {
+        if (statistics != null) {
+            statistics.finish();
+        }
+    }
+
+    private boolean load(SudokuBoard board) {
+        if (left == null) {
+            left = new int[NODE_COUNT];
+            right = new int[NODE_COUNT];
+            up = new int[NODE_COUNT];
+            down = new int[NODE_COUNT];
+            size = new int[COLUMNS + 1];
+            solution = new int[CELLS];
+        }
+        System.arraycopy(TEMPLATE_LEFT, 0, left, 0, NODE_COUNT);
+        System.arraycopy(TEMPLATE_RIGHT, 0, right, 0, NODE_COUNT);
+        System.arraycopy(TEMPLATE_UP, 0, up, 0, NODE_COUNT);
+        System.arraycopy(TEMPLATE_DOWN, 0, down, 0, NODE_COUNT);
+        System.arraycopy(TEMPLATE_SIZE, 0, size, 0, COLUMNS + 1);
+        solutionLength = 0;
+        nodes = 0;
+        stopped = false;
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            int value = board.get(cell / BOARD_SIZE, cell % BOARD_SIZE);
+            if (value == 0) {
+                continue;
+            }
+            int first = FIRST_ROW_NODE + (cell * BOARD_SIZE + value - 1) * NODES_PER_ROW;
+            int node = first;
+            do {
+                if (isCovered(COLUMN_OF[node])) {
+                    return false;
+                }
+                cover(COLUMN_OF[node]);
+                node = right[node];
+            } while (node != first);
+        }
+        return true;
+    }
+
+    private boolean search() {
+        if (statistics != null) {
+            statistics.node(solutionLength);
+        }
+        if (right[ROOT] == ROOT) {
+            return true;
+        }
+        if (stopRequested()) {
+            return false;
+        }
+        int column = smallestColumn();
+        if (size[column] == 0) {
+            return false;
+        }
+
+        cover(column);
+        for (int row = down[column]; row != column; row = down[row]) {
+            solution[solutionLength++] = row;
+            for (int node = right[row]; node != row; node = right[node]) {
+                cover(COLUMN_OF[node]);
+            }
+            if (search()) {
+                return true;
+            }
+            for (int node = left[row]; node != row; node = left[node]) {
+                uncover(COLUMN_OF[node]);
+            }
+            solutionLength--;
+            if (statistics != null) {
+                statistics.backtrack();
+            }
+        }
+        uncover(column);
+        return false;
+    }
+
+    private int count(int depth, int limit) {
+        if (statistics != null) {
+            statistics.node(depth);
+        }
+        if (right[ROOT] == ROOT) {
+            return 1;
+        }
+        int column = smallestColumn();
+        if (size[column] == 0) {
+            return 0;
+        }
+
+        int found = 0;
+        cover(column);
+        for (int row = down[column]; row != column && found < limit; row = down[row]) {
+            for (int node = right[row]; node != row; node = right[node]) {
+                cover(COLUMN_OF[node]);
+            }
+            found += count(depth + 1, limit - found);
+            for (int node = left[row]; node != row; node = left[node]) {
+                uncover(COLUMN_OF[node]);
+            }
+            if (statistics != null) {
+                statistics.backtrack();
+            }
+        }
+        uncover(column);
+        return found;
+    }
+
+    private boolean stopRequested() {
+        if (!stopped && solveLimit != null && solveLimit.isExceeded(++nodes)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private int smallestColumn() {
+        int column = right[ROOT];
+        for (int c = right[column]; c != ROOT; c = right[c]) {
+            if (size[c] < size[column]) {
+                column = c;
+            }
+        }
+        return column;
+    }
+
+    private boolean isCovered(int column) {
+        return right[left[column]] != column;
+    }
+
+    private void cover(int column) {
+        if (statistics != null) {
+            statistics.propagation();
+        }
+        right[left[column]] = right[column];
+        left[right[column]] = left[column];
+        for (int row = down[column]; row != column; row = down[row]) {
+            for (int node = right[row]; node != row; node = right[node]) {
+                up[down[node]] = up[node];
+                down[up[node]] = down[node];
+                size[COLUMN_OF[node]]--;
+            }
+        }
+    }
+
+    private void uncover(int column) {
+        for (int row = up[column]; row != column; row = up[row]) {
+            for (int node = left[row]; node != row; node = left[node]) {
+                size[COLUMN_OF[node]]++;
+                up[down[node]] = node;
+                down[up[node]] = node;
+            }
+        }
+        right[left[column]] = column;
+        left[right[column]] = column;
+    }
+}
@@ -20,4 +20,9 @@ public interface Dao<T> extends AutoCloseable {
     void write(T obj,String fileName) throws SudokuException;
 
     List<String> names() throws DaoException;
+
+    // Stores obj under the name, replacing anything stored there. Writers that already replace use write.
+    default void save(T obj, String name) throws SudokuException {
+        write(obj, name);
+    }
 }
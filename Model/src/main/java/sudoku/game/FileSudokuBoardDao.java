@@ -14,20 +14,62 @@ import org.slf4j.LoggerFactory;
 import sudoku.game.exception.*;
 
 import java.io.*;
-import java.util.Arrays;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 public class FileSudokuBoardDao implements Dao<SudokuBoard> {
-    private static final String FILE_EXTENSION = ".ser";
+    // SERIALIZED keeps the board and its solver as a Java object stream; COMPACT uses SudokuBoardCodec.
+    public enum Format {
+        SERIALIZED(".ser"),
+        COMPACT(".sdk");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final Format format;
+    private final String fileExtension;
+    private final Supplier<SudokuSolver> solverFactory;
     private String saveDirectory;
+    // Loaded on the first names() call, then kept current by this DAO's writes and by directory events.
+    private NavigableSet<String> nameCache;
+    private WatchService watcher;
+    private WatchKey watchKey;
     private static final Logger logger = LoggerFactory.getLogger(FileSudokuBoardDao.class.getName());
     private static final ResourceBundle messages = ResourceBundle.getBundle(
             "bundle.exception", java.util.Locale.getDefault());
 
     public FileSudokuBoardDao(String saveDirectory) {
+        this(saveDirectory, Format.SERIALIZED);
+    }
+
+    public FileSudokuBoardDao(String saveDirectory, Format format) {
+        this(saveDirectory, format, BacktrackingSudokuSolver::new);
+    }
+
+    // The solver factory supplies the solver of boards read in a format that does not store one.
+    public FileSudokuBoardDao(String saveDirectory, Format format, Supplier<SudokuSolver> solverFactory) {
         this.saveDirectory = saveDirectory;
+        this.format = format;
+        this.fileExtension = format.getExtension();
+        this.solverFactory = solverFactory;
 
         File directory = new File(saveDirectory);
         if (!directory.exists() && !directory.mkdirs()) {
@@ -39,7 +81,16 @@ public class FileSudokuBoardDao implements Dao<SudokuBoard> {
 
     @Override
     public SudokuBoard read(String name) throws SudokuException {
-        String fileName = saveDirectory + File.separator + name + FILE_EXTENSION;
+        String fileName = saveDirectory + File.separator + name + fileExtension;
+        if (format == Format.COMPACT) {
+            try {
+                return SudokuBoardCodec.decode(Files.readAllBytes(Path.of(fileName)), solverFactory.get());
+            } catch (IOException e) {
+                String errorMessage = messages.getString("error.readProblem");
+                logger.error(e.getLocalizedMessage(), errorMessage);
+                throw new SudokuFileReadException(SudokuFileReadException.FILE_READ_ERROR + " " + fileName);
+            }
+        }
         try (ObjectInputStream inputData = new ObjectInputStream(new FileInputStream(fileName))) {
             return (SudokuBoard) inputData.readObject();
         } catch (ClassNotFoundException | IOException e) {
@@ -58,7 +109,18 @@ public class FileSudokuBoardDao implements Dao<SudokuBoard> {
             throw new SudokuNullPointerException(SudokuNullPointerException.NULL_POINTER);
         }
 
-        String filePath = saveDirectory + "/" + fileName + FILE_EXTENSION;
+        String filePath = saveDirectory + "/" + fileName + fileExtension;
+        if (format == Format.COMPACT) {
+            try {
+                Files.write(Path.of(filePath), SudokuBoardCodec.encode(obj));
+            } catch (IOException e) {
+                String errorMessage = messages.getString("error.writeProblem");
+                logger.error(e.getLocalizedMessage(), errorMessage);
+                throw new SudokuFileWriteException(SudokuFileWriteException.FILE_WRITE_ERROR + " " + filePath);
+            }
+            rememberName(fileName);
+            return;
+        }
         try (ObjectOutputStream outputData = new ObjectOutputStream(new FileOutputStream(filePath))) {
             outputData.writeObject(obj);
         } catch (IOException e) {
@@ -66,11 +128,36 @@ public class FileSudokuBoardDao implements Dao<SudokuBoard> {
             logger.error(e.getLocalizedMessage(), errorMessage);
             throw new SudokuFileWriteException(SudokuFileWriteException.FILE_WRITE_ERROR + " " + filePath);
         }
+        rememberName(fileName);
     }
 
 
     @Override
-    public List<String> names() throws SudokuException {
+    public synchronized List<String> names() throws SudokuException {
+        return new ArrayList<>(cachedNames());
+    }
+
+    public synchronized List<String> names(String prefix) throws SudokuException {
+        return new ArrayList<>(cachedNames().subSet(prefix, true, prefix + Character.MAX_VALUE, true));
+    }
+
+    private synchronized void rememberName(String name) {
+        if (nameCache != null) {
+            nameCache.add(name);
+        }
+    }
+
+    private NavigableSet<String> cachedNames() {
+        if (nameCache != null && (watchKey == null || !applyDirectoryEvents())) {
+            nameCache = null;
+        }
+        if (nameCache == null) {
+            loadNames();
+        }
+        return nameCache;
+    }
+
+    private void loadNames() {
         File savedSudokuBoards = new File(saveDirectory);
         if (!savedSudokuBoards.exists() || !savedSudokuBoards.isDirectory()) {
             String errorMessage = messages.getString("error.invalidDirectory");
@@ -78,14 +165,57 @@ public class FileSudokuBoardDao implements Dao<SudokuBoard> {
             throw new DaoException(DaoException.INVALID_DIRECTORY);
         }
 
-        return Arrays.stream(savedSudokuBoards.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION)))
-                .map(file -> file.getName().replace(FILE_EXTENSION, ""))
-                .collect(Collectors.toList());
+        // Register before listing, so files created in between show up as events.
+        try {
+            if (watcher == null) {
+                watcher = savedSudokuBoards.toPath().getFileSystem().newWatchService();
+            }
+            watchKey = savedSudokuBoards.toPath().register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.warn("Cannot watch {}, names will be listed on every call", saveDirectory, e);
+            watchKey = null;
+        }
+
+        nameCache = new TreeSet<>();
+        for (File file : savedSudokuBoards.listFiles((dir, name) -> name.endsWith(fileExtension))) {
+            nameCache.add(baseName(file.getName()));
+        }
+    }
+
+    // Returns false when the cache can no longer be trusted and has to be reloaded.
+    private boolean applyDirectoryEvents() {
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                watchKey.reset();
+                return false;
+            }
+            String file = event.context().toString();
+            if (!file.endsWith(fileExtension)) {
+                continue;
+            }
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                nameCache.add(baseName(file));
+            } else {
+                nameCache.remove(baseName(file));
+            }
+        }
+        return watchKey.reset();
+    }
+
+    private String baseName(String file) {
+        return file.substring(0, file.length() - fileExtension.length());
     }
 
 
     @Override
-    public void close() throws Exception {
+    public synchronized void close() throws Exception {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+            watchKey = null;
+            nameCache = null;
+        }
         String close = messages.getString("close.file");
         logger.debug(close);
     }
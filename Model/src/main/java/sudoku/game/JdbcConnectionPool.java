@@ -0,0 +1,309 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+
+package sudoku.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A small fixed-size pool of PostgreSQL connections. The first {@link #acquire()} creates the database and the
+ * tables when they are missing; later calls reuse idle connections and only open a new one while fewer than
+ * {@code maxSize} exist, otherwise they wait for a release. Connections idle for longer than
+ * {@link #VALIDATE_AFTER_MILLIS} are validated before being handed out again. Prepared statements are cached per
+ * connection for as long as the connection lives, so each query is parsed once per connection.
+ */
+public final class JdbcConnectionPool implements AutoCloseable {
+    public static final String DEFAULT_SERVER_URL = "jdbc:postgresql://localhost:5432/";
+    public static final String DEFAULT_DATABASE = "sudoku";
+    public static final int DEFAULT_MAX_SIZE = 4;
+    static final long VALIDATE_AFTER_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final Logger logger = LoggerFactory.getLogger(JdbcConnectionPool.class);
+    private static JdbcConnectionPool shared;
+
+    private final String serverUrl;
+    private final String database;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final LongSupplier clock;
+    // Locks rather than monitors, so virtual threads waiting for a connection do not pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ReentrantLock bootstrapLock = new ReentrantLock();
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final Map<Connection, Map<String, PreparedStatement>> statements = new IdentityHashMap<>();
+    private int open;
+    private boolean bootstrapped;
+    private boolean closed;
+
+    public JdbcConnectionPool(String serverUrl, String database, String user, String password, int maxSize) {
+        this(serverUrl, database, user, password, maxSize, System::currentTimeMillis);
+    }
+
+    // The clock, in milliseconds, decides when an idle connection needs validating.
+    JdbcConnectionPool(String serverUrl, String database, String user, String password, int maxSize,
+                       LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.serverUrl = serverUrl;
+        this.database = database;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    // The pool used by JdbcSudokuBoardDao instances created without an explicit one.
+    public static synchronized JdbcConnectionPool shared() {
+        if (shared == null || shared.isClosed()) {
+            shared = new JdbcConnectionPool(DEFAULT_SERVER_URL, DEFAULT_DATABASE, "postgres", "admin",
+                    DEFAULT_MAX_SIZE);
+        }
+        return shared;
+    }
+
+    // Returned connections have auto-commit disabled and must be given back with release().
+    public Connection acquire() throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Connection pool is closed");
+        }
+        bootstrap();
+        while (true) {
+            IdleConnection candidate;
+            lock.lock();
+            try {
+                while (idle.isEmpty() && open >= maxSize && !closed) {
+                    available.await();
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                candidate = idle.pollFirst();
+                open++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            } finally {
+                lock.unlock();
+            }
+            if (candidate == null) {
+                return openConnection();
+            }
+            if (isUsable(candidate)) {
+                return candidate.connection;
+            }
+            discard(candidate.connection);
+        }
+    }
+
+    // The statement belongs to the pool: callers must not close it and must set every parameter before use.
+    PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        Map<String, PreparedStatement> cache;
+        synchronized (statements) {
+            cache = statements.computeIfAbsent(connection, key -> new HashMap<>());
+        }
+        PreparedStatement statement = cache.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            cache.put(sql, statement);
+        }
+        return statement;
+    }
+
+    // Uncommitted work is rolled back; a broken or closed connection is dropped instead of pooled.
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (connection.isClosed()) {
+                discard(connection);
+                return;
+            }
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            } else {
+                connection.rollback();
+            }
+            connection.setReadOnly(false);
+        } catch (SQLException e) {
+            logger.warn("Dropping pooled connection: {}", e.getMessage());
+            discard(connection);
+            return;
+        }
+        lock.lock();
+        try {
+            open--;
+            if (!closed) {
+                idle.addFirst(new IdleConnection(connection, clock.getAsLong()));
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        synchronized (statements) {
+            statements.remove(connection);
+        }
+        closeQuietly(connection);
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        Deque<IdleConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (IdleConnection connection : toClose) {
+            synchronized (statements) {
+                statements.remove(connection.connection);
+            }
+            closeQuietly(connection.connection);
+        }
+    }
+
+    private void bootstrap() throws SQLException {
+        bootstrapLock.lock();
+        try {
+            if (!bootstrapped) {
+                createSchema();
+                bootstrapped = true;
+            }
+        } finally {
+            bootstrapLock.unlock();
+        }
+    }
+
+    private void createSchema() throws SQLException {
+        try (Connection server = DriverManager.getConnection(serverUrl, user, password)) {
+            if (!databaseExists(server)) {
+                try (Statement stmt = server.createStatement()) {
+                    stmt.executeUpdate("CREATE DATABASE " + database);
+                }
+            }
+        }
+        try (Connection connection = DriverManager.getConnection(serverUrl + database, user, password);
+             Statement stmt = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SudokuBoards (\n"
+                    + "id SERIAL PRIMARY KEY,\n"
+                    + "name VARCHAR(255) UNIQUE NOT NULL\n"
+                    + ")");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SudokuFields (\n"
+                    + "board_id INT NOT NULL,\n"
+                    + "row INT NOT NULL,\n"
+                    + "col INT NOT NULL,\n"
+                    + "value INT NOT NULL,\n"
+                    + "FOREIGN KEY (board_id) REFERENCES SudokuBoards(id)\n"
+                    + ")");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS SudokuFields_board_id ON SudokuFields (board_id)");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SudokuPackedBoards (\n"
+                    + "name VARCHAR(255) PRIMARY KEY,\n"
+                    + "cells CHAR(81) NOT NULL,\n"
+                    + "givens_low BIGINT NOT NULL DEFAULT 0,\n"
+                    + "givens_high BIGINT NOT NULL DEFAULT 0\n"
+                    + ")");
+            connection.commit();
+        }
+        logger.debug("Database {} ready", database);
+    }
+
+    private boolean databaseExists(Connection server) throws SQLException {
+        try (PreparedStatement stmt = server.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            stmt.setString(1, database);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(serverUrl + database, user, password);
+            connection.setAutoCommit(false);
+            return connection;
+        } catch (SQLException e) {
+            connectionGone();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(IdleConnection candidate) {
+        try {
+            return clock.getAsLong() - candidate.since < VALIDATE_AFTER_MILLIS
+                    ? !candidate.connection.isClosed()
+                    : candidate.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Connection connection) {
+        synchronized (statements) {
+            statements.remove(connection);
+        }
+        closeQuietly(connection);
+        connectionGone();
+    }
+
+    private void connectionGone() {
+        lock.lock();
+        try {
+            open--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing pooled connection: {}", e.getMessage());
+        }
+    }
+
+    private record IdleConnection(Connection connection, long since) {
+    }
+}
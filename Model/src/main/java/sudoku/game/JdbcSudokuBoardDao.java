@@ -1,177 +1,511 @@
-/*
- * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
- *
- * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
- * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
- * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
- * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
- */
-
-package sudoku.game;
-
-import sudoku.game.exception.DaoException;
-
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-
-public class JdbcSudokuBoardDao implements Dao<SudokuBoard> {
-    private final String url = "jdbc:postgresql://localhost:5432/sudoku";
-    private final String user = "postgres";
-    private final String password = "admin";
-    Connection connection;
-
-    public JdbcSudokuBoardDao() throws SQLException {
-        createDatabaseIfNotExists();
-        connect();
-    }
-
-    private void createDatabaseIfNotExists() throws SQLException {
-        String baseUrl = "jdbc:postgresql://localhost:5432/";
-        try (Connection connection = DriverManager.getConnection(baseUrl, user, password);
-             Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate("CREATE DATABASE sudoku");
-        } catch (SQLException e) {
-            if (!e.getMessage().contains("already exists")) {
-                throw e;
-            }
-        }
-    }
-
-    private void connect() throws SQLException {
-        connection = DriverManager.getConnection(url, user, password);
-        connection.setAutoCommit(false);
-        createTablesIfNotExist();
-    }
-
-    private void createTablesIfNotExist() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SudokuBoards (\n"
-                    + "id SERIAL PRIMARY KEY,\n"
-                    + "name VARCHAR(255) UNIQUE NOT NULL\n"
-                    + ")");
-
-            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS SudokuFields (\n"
-                    + "board_id INT NOT NULL,\n"
-                    + "row INT NOT NULL,\n"
-                    + "col INT NOT NULL,\n"
-                    + "value INT NOT NULL,\n"
-                    + "FOREIGN KEY (board_id) REFERENCES SudokuBoards(id)\n"
-                    + ")");
-            connection.commit();
-        } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                throw new SQLException("Error rolling back table creation transaction", rollbackEx);
-            }
-            throw e;
-        }
-    }
-
-    @Override
-    public void write(SudokuBoard board, String name) throws DaoException {
-        try (PreparedStatement insertBoard = connection.prepareStatement(
-                "INSERT INTO SudokuBoards (name) VALUES (?) RETURNING id");
-             PreparedStatement insertField = connection.prepareStatement(
-                     "INSERT INTO SudokuFields (board_id, row, col, value) VALUES (?, ?, ?, ?)")) {
-            insertBoard.setString(1, name);
-            ResultSet rs = insertBoard.executeQuery();
-
-            if (!rs.next()) {
-                throw new SQLException("Failed to retrieve board ID after insert.");
-            }
-            int boardId = rs.getInt(1);
-
-            for (int row = 0; row < 9; row++) {
-                for (int col = 0; col < 9; col++) {
-                    insertField.setInt(1, boardId);
-                    insertField.setInt(2, row);
-                    insertField.setInt(3, col);
-                    insertField.setInt(4, board.get(row, col));
-                    insertField.addBatch();
-                }
-            }
-            insertField.executeBatch();
-            connection.commit();
-        } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                throw new DaoException("Error rolling back transaction");
-            }
-            throw new DaoException("Error saving Sudoku board to the database");
-        }
-    }
-
-    @Override
-    public SudokuBoard read(String name) throws DaoException {
-        try (PreparedStatement selectBoard = connection.prepareStatement(
-                "SELECT id FROM SudokuBoards WHERE name = ?");
-             PreparedStatement selectFields = connection.prepareStatement(
-                     "SELECT row, col, value FROM SudokuFields WHERE board_id = ?")) {
-            selectBoard.setString(1, name);
-            ResultSet boardResult = selectBoard.executeQuery();
-
-            if (!boardResult.next()) {
-                throw new DaoException("Sudoku board not found: " + name);
-            }
-            int boardId = boardResult.getInt(1);
-
-            SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
-            selectFields.setInt(1, boardId);
-            ResultSet fieldResult = selectFields.executeQuery();
-            while (fieldResult.next()) {
-                int row = fieldResult.getInt("row");
-                int col = fieldResult.getInt("col");
-                int value = fieldResult.getInt("value");
-                if (value == 0) {
-                    board.setToDefault(row, col);
-                } else {
-                    board.set(row, col, value);
-                }
-            }
-            connection.commit();
-            return board;
-        } catch (SQLException e) {
-            try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                throw new DaoException("Error rolling back transaction");
-            }
-            throw new DaoException("Error loading Sudoku board from the database");
-        }
-    }
-
-    public List<String> names() throws DaoException {
-        try {
-            if (connection == null || connection.isClosed()) {
-                throw new DaoException("Connection is closed");
-            }
-        } catch (SQLException e) {
-            throw new DaoException("Error retrieving sudoku boards from the database");
-        }
-
-        List<String> boardNames = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement("SELECT name FROM SudokuBoards");
-             ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                boardNames.add(rs.getString("name"));
-            }
-        } catch (SQLException e) {
-            throw new DaoException("Error reading Sudoku boards from the database");
-        }
-
-        return boardNames;
-    }
-
-
-    @Override
-    public void close() throws SQLException {
-        if (connection != null && !connection.isClosed()) {
-            connection.close();
-        }
-    }
-
-
-}
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import sudoku.game.exception.DaoException;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JdbcSudokuBoardDao implements Dao<SudokuBoard> {
+    // FIELDS is the legacy layout of one SudokuFields row per cell; PACKED keeps a whole board in one
+    // SudokuPackedBoards row: the cells as 81 digits and the givens as two 64-bit masks.
+    public enum Schema {
+        FIELDS,
+        PACKED
+    }
+
+    private static final int CELLS = SudokuBoard.BOARD_SIZE * SudokuBoard.BOARD_SIZE;
+    // Boards sent per statement by writeAll; the FIELDS layout sends 81 array elements per board.
+    static final int BULK_CHUNK = 2000;
+    private static final String INSERT_BOARD = "INSERT INTO SudokuBoards (name) VALUES (?) RETURNING id";
+    private static final String INSERT_FIELD =
+            "INSERT INTO SudokuFields (board_id, row, col, value) VALUES (?, ?, ?, ?)";
+    // A board always has its 81 fields, so an empty result means the name is unknown.
+    private static final String SELECT_FIELDS = "SELECT f.row, f.col, f.value FROM SudokuBoards b\n"
+            + "JOIN SudokuFields f ON f.board_id = b.id WHERE b.name = ?";
+    private static final String INSERT_PACKED =
+            "INSERT INTO SudokuPackedBoards (name, cells, givens_low, givens_high) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_PACKED =
+            "SELECT cells, givens_low, givens_high FROM SudokuPackedBoards WHERE name = ?";
+    private final JdbcConnectionPool pool;
+    private final Schema schema;
+    // Identifies the tables this DAO stores boards in, for SudokuBoard.markClean(store, name).
+    private final Object store;
+    Connection connection;
+
+    public JdbcSudokuBoardDao() throws SQLException {
+        this(JdbcConnectionPool.shared());
+    }
+
+    public JdbcSudokuBoardDao(JdbcConnectionPool pool) throws SQLException {
+        this(pool, Schema.FIELDS);
+    }
+
+    // Holds one pooled connection until close(); the pool creates the schema on first use.
+    public JdbcSudokuBoardDao(JdbcConnectionPool pool, Schema schema) throws SQLException {
+        this.pool = pool;
+        this.schema = schema;
+        this.store = List.of(pool, schema);
+        this.connection = pool.acquire();
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void write(SudokuBoard board, String name) throws DaoException {
+        if (schema == Schema.PACKED) {
+            writePacked(board, name);
+            return;
+        }
+        try {
+            beginWrite();
+            PreparedStatement insertBoard = statement(INSERT_BOARD);
+            insertBoard.setString(1, name);
+            int boardId;
+            try (ResultSet rs = insertBoard.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Failed to retrieve board ID after insert.");
+                }
+                boardId = rs.getInt(1);
+            }
+            insertFields(boardId, board);
+            connection.commit();
+            board.markClean(store, name);
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                throw new DaoException("Error rolling back transaction");
+            }
+            throw new DaoException("Error saving Sudoku board to the database");
+        }
+    }
+
+    private void writePacked(SudokuBoard board, String name) throws DaoException {
+        try {
+            beginWrite();
+            PreparedStatement insert = statement(INSERT_PACKED);
+            long[] givens = givensOf(board);
+            insert.setString(1, name);
+            insert.setString(2, cellsOf(board));
+            insert.setLong(3, givens[0]);
+            insert.setLong(4, givens[1]);
+            insert.executeUpdate();
+            connection.commit();
+            board.markClean(store, name);
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                throw new DaoException("Error rolling back transaction");
+            }
+            throw new DaoException("Error saving Sudoku board to the database");
+        }
+    }
+
+    private void insertFields(int boardId, SudokuBoard board) throws SQLException {
+        PreparedStatement insertField = statement(INSERT_FIELD);
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                insertField.setInt(1, boardId);
+                insertField.setInt(2, row);
+                insertField.setInt(3, col);
+                insertField.setInt(4, board.get(row, col));
+                insertField.addBatch();
+            }
+        }
+        insertField.executeBatch();
+    }
+
+    /**
+     * Stores the board under the name, replacing a board already stored there. For the FIELDS layout an existing
+     * board only gets the dirty cells when this board was last saved to or loaded from that name of these tables;
+     * any other existing board has all of its cells overwritten. The PACKED layout upserts its single row.
+     * Marks the board clean on success.
+     */
+    @Override
+    public void save(SudokuBoard board, String name) throws DaoException {
+        try {
+            beginWrite();
+            if (schema == Schema.PACKED) {
+                upsertPacked(board, name);
+            } else {
+                upsertFields(board, name, board.isSyncedWith(store, name));
+            }
+            connection.commit();
+            board.markClean(store, name);
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                throw new DaoException("Error rolling back transaction");
+            }
+            throw new DaoException("Error saving Sudoku board to the database");
+        }
+    }
+
+    private void upsertPacked(SudokuBoard board, String name) throws SQLException {
+        PreparedStatement upsert = statement(INSERT_PACKED + "\nON CONFLICT (name) DO UPDATE SET cells = EXCLUDED.cells,"
+                + " givens_low = EXCLUDED.givens_low, givens_high = EXCLUDED.givens_high");
+        long[] givens = givensOf(board);
+        upsert.setString(1, name);
+        upsert.setString(2, cellsOf(board));
+        upsert.setLong(3, givens[0]);
+        upsert.setLong(4, givens[1]);
+        upsert.executeUpdate();
+    }
+
+    private void upsertFields(SudokuBoard board, String name, boolean synced) throws SQLException {
+        PreparedStatement insertBoard = statement(
+                "INSERT INTO SudokuBoards (name) VALUES (?) ON CONFLICT (name) DO NOTHING RETURNING id");
+        insertBoard.setString(1, name);
+        try (ResultSet rs = insertBoard.executeQuery()) {
+            if (rs.next()) {
+                insertFields(rs.getInt(1), board);
+                return;
+            }
+        }
+        if (synced && !board.isDirty()) {
+            return;
+        }
+
+        List<Integer> rows = new ArrayList<>();
+        List<Integer> cols = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        for (int row = 0; row < SudokuBoard.BOARD_SIZE; row++) {
+            for (int col = 0; col < SudokuBoard.BOARD_SIZE; col++) {
+                if (!synced || board.isDirty(row, col)) {
+                    rows.add(row);
+                    cols.add(col);
+                    values.add(board.get(row, col));
+                }
+            }
+        }
+        PreparedStatement update = statement("UPDATE SudokuFields f SET value = d.value\n"
+                + "FROM SudokuBoards b, unnest(?::int[], ?::int[], ?::int[]) AS d(row, col, value)\n"
+                + "WHERE b.name = ? AND f.board_id = b.id AND f.row = d.row AND f.col = d.col");
+        update.setArray(1, connection.createArrayOf("int4", rows.toArray()));
+        update.setArray(2, connection.createArrayOf("int4", cols.toArray()));
+        update.setArray(3, connection.createArrayOf("int4", values.toArray()));
+        update.setString(4, name);
+        update.executeUpdate();
+    }
+
+    @Override
+    public SudokuBoard read(String name) throws DaoException {
+        if (schema == Schema.PACKED) {
+            return readPacked(name);
+        }
+        try {
+            beginRead();
+            PreparedStatement select = statement(SELECT_FIELDS);
+            select.setString(1, name);
+            SudokuBoard board = null;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    if (board == null) {
+                        board = new SudokuBoard(new BacktrackingSudokuSolver());
+                    }
+                    int value = rs.getInt(3);
+                    if (value != 0) {
+                        board.set(rs.getInt(1), rs.getInt(2), value);
+                    }
+                }
+            }
+            if (board == null) {
+                throw new DaoException("Sudoku board not found: " + name);
+            }
+            board.markClean(store, name);
+            return board;
+        } catch (SQLException e) {
+            throw new DaoException("Error loading Sudoku board from the database");
+        }
+    }
+
+    private SudokuBoard readPacked(String name) throws DaoException {
+        try {
+            beginRead();
+            PreparedStatement select = statement(SELECT_PACKED);
+            select.setString(1, name);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new DaoException("Sudoku board not found: " + name);
+                }
+                SudokuBoard board = boardOf(rs.getString(1), rs.getLong(2), rs.getLong(3));
+                board.markClean(store, name);
+                return board;
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new DaoException("Error loading Sudoku board from the database");
+        }
+    }
+
+    /**
+     * Copies every board of the legacy SudokuBoards/SudokuFields tables that is not yet in SudokuPackedBoards,
+     * in one statement and one transaction. The legacy tables are left untouched and carry no givens, so
+     * migrated boards have none. Returns the number of boards copied.
+     */
+    public int migrateToPacked() throws DaoException {
+        try (Statement stmt = connection.createStatement()) {
+            beginWrite();
+            int migrated = stmt.executeUpdate("INSERT INTO SudokuPackedBoards (name, cells, givens_low, givens_high)\n"
+                    + "SELECT b.name, string_agg(f.value::text, '' ORDER BY f.row, f.col), 0, 0\n"
+                    + "FROM SudokuBoards b JOIN SudokuFields f ON f.board_id = b.id\n"
+                    + "GROUP BY b.id, b.name\n"
+                    + "HAVING count(*) = " + CELLS + "\n"
+                    + "ON CONFLICT (name) DO NOTHING");
+            connection.commit();
+            return migrated;
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                throw new DaoException("Error rolling back transaction");
+            }
+            throw new DaoException("Error migrating Sudoku boards");
+        }
+    }
+
+    /**
+     * Saves all boards in one transaction: either every board is stored or, on any error such as a duplicate
+     * name, none is. Boards are sent {@value #BULK_CHUNK} per statement as PostgreSQL arrays expanded with
+     * {@code unnest}, so each chunk costs one round trip (two for the FIELDS layout, which needs the new ids).
+     */
+    public void writeAll(Map<String, SudokuBoard> boards) throws DaoException {
+        Iterator<Map.Entry<String, SudokuBoard>> entries = boards.entrySet().iterator();
+        try {
+            beginWrite();
+            while (entries.hasNext()) {
+                List<Map.Entry<String, SudokuBoard>> chunk = new ArrayList<>(BULK_CHUNK);
+                while (entries.hasNext() && chunk.size() < BULK_CHUNK) {
+                    chunk.add(entries.next());
+                }
+                if (schema == Schema.PACKED) {
+                    writePackedChunk(chunk);
+                } else {
+                    writeFieldsChunk(chunk);
+                }
+            }
+            connection.commit();
+            boards.forEach((name, board) -> board.markClean(store, name));
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                throw new DaoException("Error rolling back transaction");
+            }
+            throw new DaoException("Error saving Sudoku boards to the database");
+        }
+    }
+
+    private void writePackedChunk(List<Map.Entry<String, SudokuBoard>> chunk) throws SQLException {
+        String[] names = new String[chunk.size()];
+        String[] cells = new String[chunk.size()];
+        Long[] givensLow = new Long[chunk.size()];
+        Long[] givensHigh = new Long[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            long[] givens = givensOf(chunk.get(i).getValue());
+            names[i] = chunk.get(i).getKey();
+            cells[i] = cellsOf(chunk.get(i).getValue());
+            givensLow[i] = givens[0];
+            givensHigh[i] = givens[1];
+        }
+        PreparedStatement insert = statement("INSERT INTO SudokuPackedBoards (name, cells, givens_low, givens_high)\n"
+                + "SELECT * FROM unnest(?::varchar[], ?::char(81)[], ?::bigint[], ?::bigint[])");
+        insert.setArray(1, connection.createArrayOf("varchar", names));
+        insert.setArray(2, connection.createArrayOf("bpchar", cells));
+        insert.setArray(3, connection.createArrayOf("int8", givensLow));
+        insert.setArray(4, connection.createArrayOf("int8", givensHigh));
+        insert.executeUpdate();
+    }
+
+    private void writeFieldsChunk(List<Map.Entry<String, SudokuBoard>> chunk) throws SQLException {
+        String[] names = new String[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            names[i] = chunk.get(i).getKey();
+        }
+        Map<String, Integer> ids = new HashMap<>();
+        PreparedStatement insertBoards = statement(
+                "INSERT INTO SudokuBoards (name) SELECT unnest(?::varchar[]) RETURNING id, name");
+        insertBoards.setArray(1, connection.createArrayOf("varchar", names));
+        try (ResultSet rs = insertBoards.executeQuery()) {
+            while (rs.next()) {
+                ids.put(rs.getString(2), rs.getInt(1));
+            }
+        }
+
+        int size = chunk.size() * CELLS;
+        Integer[] boardIds = new Integer[size];
+        Integer[] rows = new Integer[size];
+        Integer[] cols = new Integer[size];
+        Integer[] values = new Integer[size];
+        int n = 0;
+        for (Map.Entry<String, SudokuBoard> entry : chunk) {
+            int boardId = ids.get(entry.getKey());
+            for (int row = 0; row < SudokuBoard.BOARD_SIZE; row++) {
+                for (int col = 0; col < SudokuBoard.BOARD_SIZE; col++) {
+                    boardIds[n] = boardId;
+                    rows[n] = row;
+                    cols[n] = col;
+                    values[n] = entry.getValue().get(row, col);
+                    n++;
+                }
+            }
+        }
+        PreparedStatement insertFields = statement("INSERT INTO SudokuFields (board_id, row, col, value)\n"
+                + "SELECT * FROM unnest(?::int[], ?::int[], ?::int[], ?::int[])");
+        insertFields.setArray(1, connection.createArrayOf("int4", boardIds));
+        insertFields.setArray(2, connection.createArrayOf("int4", rows));
+        insertFields.setArray(3, connection.createArrayOf("int4", cols));
+        insertFields.setArray(4, connection.createArrayOf("int4", values));
+        insertFields.executeUpdate();
+    }
+
+    // Reads the named boards with one query; names that are not stored are absent from the result.
+    public Map<String, SudokuBoard> readAll(Collection<String> names) throws DaoException {
+        String query = schema == Schema.PACKED
+                ? "SELECT name, cells, givens_low, givens_high FROM SudokuPackedBoards WHERE name = ANY(?)"
+                : "SELECT b.name, f.row, f.col, f.value FROM SudokuBoards b\n"
+                        + "JOIN SudokuFields f ON f.board_id = b.id WHERE b.name = ANY(?)";
+        Map<String, SudokuBoard> boards = new LinkedHashMap<>();
+        try {
+            beginRead();
+            PreparedStatement select = statement(query);
+            select.setArray(1, connection.createArrayOf("varchar", names.toArray()));
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    if (schema == Schema.PACKED) {
+                        boards.put(name, boardOf(rs.getString(2), rs.getLong(3), rs.getLong(4)));
+                        continue;
+                    }
+                    SudokuBoard board = boards.computeIfAbsent(name,
+                            key -> new SudokuBoard(new BacktrackingSudokuSolver()));
+                    int value = rs.getInt(4);
+                    if (value != 0) {
+                        board.set(rs.getInt(2), rs.getInt(3), value);
+                    }
+                }
+            }
+            boards.forEach((name, board) -> board.markClean(store, name));
+            return boards;
+        } catch (SQLException | IllegalArgumentException e) {
+            throw new DaoException("Error loading Sudoku boards from the database");
+        }
+    }
+
+    static String cellsOf(SudokuBoard board) {
+        char[] digits = new char[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            digits[i] = (char) ('0' + board.get(i / SudokuBoard.BOARD_SIZE, i % SudokuBoard.BOARD_SIZE));
+        }
+        return new String(digits);
+    }
+
+    // Cell i is bit i of the first mask, cell 64 + i is bit i of the second.
+    static long[] givensOf(SudokuBoard board) {
+        long[] givens = new long[2];
+        for (int i = 0; i < CELLS; i++) {
+            if (board.isGiven(i / SudokuBoard.BOARD_SIZE, i % SudokuBoard.BOARD_SIZE)) {
+                givens[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        return givens;
+    }
+
+    static SudokuBoard boardOf(String cells, long givensLow, long givensHigh) {
+        if (cells == null || cells.length() != CELLS) {
+            throw new IllegalArgumentException("Packed board must have " + CELLS + " cells");
+        }
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        for (int i = 0; i < CELLS; i++) {
+            int x = i / SudokuBoard.BOARD_SIZE;
+            int y = i % SudokuBoard.BOARD_SIZE;
+            int value = cells.charAt(i) - '0';
+            if (value < 0 || value > SudokuBoard.BOARD_SIZE) {
+                throw new IllegalArgumentException("Invalid value at cell " + i);
+            }
+            if (value != 0) {
+                board.set(x, y, value);
+            }
+            long mask = i < Long.SIZE ? givensLow : givensHigh;
+            board.setGiven(x, y, (mask & 1L << (i % Long.SIZE)) != 0);
+        }
+        return board;
+    }
+
+    public List<String> names() throws DaoException {
+        try {
+            if (connection == null || connection.isClosed()) {
+                throw new DaoException("Connection is closed");
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Error retrieving sudoku boards from the database");
+        }
+
+        List<String> boardNames = new ArrayList<>();
+        String query = schema == Schema.PACKED
+                ? "SELECT name FROM SudokuPackedBoards"
+                : "SELECT name FROM SudokuBoards";
+        try {
+            beginRead();
+        } catch (SQLException e) {
+            throw new DaoException("Error reading Sudoku boards from the database");
+        }
+        try (ResultSet rs = statement(query).executeQuery()) {
+            while (rs.next()) {
+                boardNames.add(rs.getString("name"));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Error reading Sudoku boards from the database");
+        }
+
+        return boardNames;
+    }
+
+
+    private PreparedStatement statement(String sql) throws SQLException {
+        return pool.prepare(connection, sql);
+    }
+
+    // Reads run as single read-only autocommit statements: no BEGIN and no COMMIT round trips.
+    private void beginRead() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            connection.setAutoCommit(true);
+            connection.setReadOnly(true);
+        }
+    }
+
+    private void beginWrite() throws SQLException {
+        if (connection.getAutoCommit()) {
+            connection.setReadOnly(false);
+            connection.setAutoCommit(false);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (connection != null) {
+            pool.release(connection);
+            connection = null;
+        }
+    }
+
+
+}
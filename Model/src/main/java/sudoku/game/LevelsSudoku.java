@@ -9,11 +9,6 @@
 
 package sudoku.game;
 
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
 public enum LevelsSudoku {
     EASY(5),
     MEDIUM(40),
@@ -31,23 +26,10 @@ public enum LevelsSudoku {
 
 
     public void applyDifficulty(SudokuBoard board) {
-        int removals = getNumbersToRemove();
-        int size = SudokuBoard.BOARD_SIZE;
-
-
-        List<int[]> emptyCells = new ArrayList<>();
-
-        for (int x = 0; x < size; x++) {
-            for (int y = 0; y < size; y++) {
-                emptyCells.add(new int[]{x, y});
-            }
-        }
+        new SudokuPuzzleGenerator().removeClues(board, getNumbersToRemove());
+    }
 
-        Random rand = new Random();
-        for (int i = 0; i < removals; i++) {
-            int randomIndex = rand.nextInt(emptyCells.size());
-            int[] cell = emptyCells.remove(randomIndex);
-            board.setToDefault(cell[0], cell[1]);
-        }
+    public void applyDifficulty(SudokuBoard board, long seed) {
+        SudokuPuzzleGenerator.withSeed(seed).removeClues(board, getNumbersToRemove());
     }
 }
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sudoku.game.exception.DaoException;
+import sudoku.game.exception.SudokuException;
+import sudoku.game.exception.SudokuFileReadException;
+import sudoku.game.exception.SudokuFileWriteException;
+import sudoku.game.exception.SudokuNullPointerException;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Stores boards as fixed-size records appended to memory-mapped segment files ({@code boards-N.seg}).
+ * A record is a state byte, the UTF-8 name (length byte plus {@value #MAX_NAME_BYTES} bytes) and the
+ * {@link SudokuBoardCodec} form of the board; the state byte is written last, so an append torn by a crash of
+ * the JVM is ignored. Writes are not forced to disk: the OS writes mapped pages back in no particular order, so
+ * after an OS crash or power loss the writes since the last {@link #close()} may be lost or torn.
+ * Writing an existing name appends a new record and the in-memory name index, rebuilt by scanning the segments
+ * on startup, points to the newest one. Once superseded records outnumber live ones, a background thread copies
+ * the live records of full segments into the active segment, forces the copies and deletes the old files.
+ * Calls made after {@link #close()} throw {@link DaoException}.
+ */
+public class MappedSudokuBoardDao implements Dao<SudokuBoard> {
+    public static final int MAX_NAME_BYTES = 64;
+    public static final int DEFAULT_SEGMENT_RECORDS = 8192;
+    static final int RECORD_SIZE = 128;
+    private static final byte LIVE = 1;
+    private static final int NAME_OFFSET = 2;
+    private static final int DATA_OFFSET = NAME_OFFSET + MAX_NAME_BYTES;
+    private static final String SEGMENT_PREFIX = "boards-";
+    private static final String SEGMENT_EXTENSION = ".seg";
+    private static final Logger logger = LoggerFactory.getLogger(MappedSudokuBoardDao.class);
+    private static final ResourceBundle messages = ResourceBundle.getBundle(
+            "bundle.exception", java.util.Locale.getDefault());
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final Supplier<SudokuSolver> solverFactory;
+    private final Map<String, Long> index = new HashMap<>();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Object compactionLock = new Object();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sudoku-dao-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Segment active;
+    private int garbage;
+    private boolean compactionScheduled;
+    private boolean closed;
+
+    public MappedSudokuBoardDao(String directory) {
+        this(directory, BacktrackingSudokuSolver::new);
+    }
+
+    public MappedSudokuBoardDao(String directory, Supplier<SudokuSolver> solverFactory) {
+        this(directory, solverFactory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    MappedSudokuBoardDao(String directory, Supplier<SudokuSolver> solverFactory, int segmentRecords) {
+        this.directory = Path.of(directory);
+        this.solverFactory = solverFactory;
+        this.segmentRecords = segmentRecords;
+        try {
+            Files.createDirectories(this.directory);
+            for (int id : segmentIds()) {
+                Segment segment = new Segment(id);
+                segments.put(id, segment);
+                scan(segment);
+            }
+            active = segments.isEmpty() ? openSegment(0) : segments.lastEntry().getValue();
+        } catch (IOException e) {
+            String errorMessage = messages.getString("error.problemCreatingDirectory");
+            logger.error(errorMessage, directory, e);
+            throw new DaoException(DaoException.INVALID_DIRECTORY + " " + directory);
+        }
+    }
+
+    @Override
+    public SudokuBoard read(String name) throws SudokuException {
+        byte[] data = new byte[SudokuBoardCodec.ENCODED_LENGTH];
+        synchronized (this) {
+            ensureOpen();
+            Long location = index.get(name);
+            if (location == null) {
+                String errorMessage = messages.getString("error.readProblem");
+                logger.error(errorMessage);
+                throw new SudokuFileReadException(SudokuFileReadException.FILE_READ_ERROR + " " + name);
+            }
+            Segment segment = segments.get(segmentOf(location));
+            segment.buffer.get(slotOf(location) * RECORD_SIZE + DATA_OFFSET, data);
+        }
+        try {
+            return SudokuBoardCodec.decode(data, solverFactory.get());
+        } catch (StreamCorruptedException e) {
+            String errorMessage = messages.getString("error.readProblem");
+            logger.error(e.getLocalizedMessage(), errorMessage);
+            throw new SudokuFileReadException(SudokuFileReadException.FILE_READ_ERROR + " " + name);
+        }
+    }
+
+    @Override
+    public void write(SudokuBoard obj, String name) throws SudokuException {
+        if (obj == null || name == null || name.isEmpty()) {
+            String errorMessage = messages.getString("error.nullPointer");
+            logger.error(errorMessage);
+            throw new SudokuNullPointerException(SudokuNullPointerException.NULL_POINTER);
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_NAME_BYTES) {
+            String errorMessage = messages.getString("error.nameTooLong");
+            logger.error(errorMessage);
+            throw new DaoException(DaoException.NAME_TOO_LONG + " " + name);
+        }
+        byte[] record = new byte[RECORD_SIZE];
+        record[0] = LIVE;
+        record[1] = (byte) nameBytes.length;
+        System.arraycopy(nameBytes, 0, record, NAME_OFFSET, nameBytes.length);
+        System.arraycopy(SudokuBoardCodec.encode(obj), 0, record, DATA_OFFSET, SudokuBoardCodec.ENCODED_LENGTH);
+
+        synchronized (this) {
+            ensureOpen();
+            try {
+                Long previous = index.put(name, append(record));
+                if (previous != null) {
+                    garbage++;
+                    scheduleCompactionIfNeeded();
+                }
+            } catch (IOException e) {
+                String errorMessage = messages.getString("error.writeProblem");
+                logger.error(e.getLocalizedMessage(), errorMessage);
+                throw new SudokuFileWriteException(SudokuFileWriteException.FILE_WRITE_ERROR + " " + name);
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<String> names() throws DaoException {
+        ensureOpen();
+        return new ArrayList<>(index.keySet());
+    }
+
+    // Copies the live records of every full segment into the active one and deletes the full segments.
+    public void compact() {
+        List<Integer> sealed;
+        synchronized (this) {
+            ensureOpen();
+            sealed = new ArrayList<>(segments.headMap(active.id).keySet());
+        }
+        synchronized (compactionLock) {
+            for (int id : sealed) {
+                try {
+                    compactSegment(id);
+                } catch (IOException e) {
+                    logger.error("Compaction of segment {} failed", id, e);
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+        }
+        String close = messages.getString("close.file");
+        logger.debug(close);
+    }
+
+    // Sealed segments are never written again, so their records are read without the store lock. The lock is
+    // only taken per record, to re-append it if the index still points at it, and to drop the segment at the end.
+    // Callers hold compactionLock, so two compactions never copy the same segment.
+    private void compactSegment(int id) throws IOException {
+        Segment segment;
+        int firstTarget;
+        synchronized (this) {
+            segment = segments.get(id);
+            if (closed || segment == null || segment == active) {
+                return;
+            }
+            firstTarget = active.id;
+        }
+        byte[] record = new byte[RECORD_SIZE];
+        int copied = 0;
+        for (int slot = 0; slot < segment.used; slot++) {
+            segment.buffer.get(slot * RECORD_SIZE, record);
+            String name = nameOf(record);
+            long location = location(id, slot);
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                Long current = index.get(name);
+                if (current != null && current == location) {
+                    index.put(name, append(record));
+                    copied++;
+                }
+            }
+        }
+        // The copies must be on disk before the only other copy of those records is deleted.
+        List<Segment> targets;
+        synchronized (this) {
+            targets = new ArrayList<>(segments.tailMap(firstTarget, true).values());
+        }
+        for (Segment target : targets) {
+            target.buffer.force();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            garbage -= segment.used - copied;
+            segments.remove(id);
+        }
+        segment.close();
+        Files.delete(segment.path);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            String errorMessage = messages.getString("error.daoClosed");
+            logger.error(errorMessage);
+            throw new DaoException(DaoException.DAO_CLOSED);
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (!compactionScheduled && garbage >= index.size() && segments.size() > 1) {
+            compactionScheduled = true;
+            compactor.execute(() -> {
+                synchronized (this) {
+                    compactionScheduled = false;
+                }
+                compact();
+            });
+        }
+    }
+
+    private long append(byte[] record) throws IOException {
+        if (active.used == segmentRecords) {
+            active = openSegment(active.id + 1);
+        }
+        int slot = active.used++;
+        int position = slot * RECORD_SIZE;
+        active.buffer.put(position + 1, record, 1, RECORD_SIZE - 1);
+        active.buffer.put(position, record[0]);
+        return location(active.id, slot);
+    }
+
+    private void scan(Segment segment) {
+        byte[] record = new byte[RECORD_SIZE];
+        while (segment.used < segmentRecords) {
+            segment.buffer.get(segment.used * RECORD_SIZE, record);
+            if (record[0] != LIVE) {
+                break;
+            }
+            if (index.put(nameOf(record), location(segment.id, segment.used)) != null) {
+                garbage++;
+            }
+            segment.used++;
+        }
+    }
+
+    private Segment openSegment(int id) throws IOException {
+        Segment segment = new Segment(id);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private List<Integer> segmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.startsWith(SEGMENT_PREFIX) && file.endsWith(SEGMENT_EXTENSION))
+                    .map(file -> Integer.parseInt(file.substring(SEGMENT_PREFIX.length(),
+                            file.length() - SEGMENT_EXTENSION.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String nameOf(byte[] record) {
+        return new String(record, NAME_OFFSET, record[1], StandardCharsets.UTF_8);
+    }
+
+    private static long location(int segment, int slot) {
+        return (long) segment << Integer.SIZE | slot;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> Integer.SIZE);
+    }
+
+    private static int slotOf(long location) {
+        return (int) location;
+    }
+
+    private final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int used;
+
+        private Segment(int id) throws IOException {
+            this.id = id;
+            this.path = directory.resolve(SEGMENT_PREFIX + id + SEGMENT_EXTENSION);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        }
+
+        private void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
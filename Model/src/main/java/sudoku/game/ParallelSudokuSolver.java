@@ -0,0 +1,268 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits the top levels of the search tree into fork/join tasks, one per candidate of the cell
+ * with the fewest candidates, and finishes each subtree with a per-thread {@link BitmaskSudokuSolver}.
+ * The first task to find a solution raises a shared stop signal that every other task polls;
+ * when counting, partial counts are summed and the signal is raised once the limit is reached.
+ */
+public class ParallelSudokuSolver implements SudokuSolver, Serializable {
+    private static final long serialVersionUID = 1L;
+    public static final int DEFAULT_SPLIT_DEPTH = 3;
+    private static final int BOARD_SIZE = 9;
+    private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    private static final int ALL_DIGITS = (1 << BOARD_SIZE) - 1;
+    private static final ThreadLocal<BitmaskSudokuSolver> LEAF_SOLVERS =
+            ThreadLocal.withInitial(BitmaskSudokuSolver::new);
+
+    private transient ForkJoinPool pool;
+    private final int splitDepth;
+    private transient boolean statisticsEnabled;
+    private transient SolverStatistics statistics;
+
+    public ParallelSudokuSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    public ParallelSudokuSolver(ForkJoinPool pool, int splitDepth) {
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    private ForkJoinPool pool() {
+        return pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    @Override
+    public boolean solve(SudokuBoard board) {
+        return solve(board, null) == SolveResult.SOLVED;
+    }
+
+    // The node budget is shared by all subtrees; concurrently running subtrees may overshoot it slightly.
+    @Override
+    public SolveResult solve(SudokuBoard board, SolveLimit limit) {
+        statistics = null;
+        if (!board.isValid()) {
+            return SolveResult.UNSOLVABLE;
+        }
+        SearchContext context = new SearchContext(1, true, limit, statisticsEnabled);
+        pool().invoke(new SearchTask(context, toGrid(board), 0));
+        finishStatistics(context);
+        int[] solution = context.solution.get();
+        if (solution == null) {
+            return context.budgetExceeded ? SolveResult.BUDGET_EXCEEDED : SolveResult.UNSOLVABLE;
+        }
+        for (int i = 0; i < CELLS; i++) {
+            if (board.get(i / BOARD_SIZE, i % BOARD_SIZE) == 0) {
+                board.set(i / BOARD_SIZE, i % BOARD_SIZE, solution[i]);
+            }
+        }
+        return SolveResult.SOLVED;
+    }
+
+    @Override
+    public int countSolutions(SudokuBoard board, int limit) {
+        statistics = null;
+        if (limit <= 0 || !board.isValid()) {
+            return 0;
+        }
+        SearchContext context = new SearchContext(limit, false, null, statisticsEnabled);
+        pool().invoke(new SearchTask(context, toGrid(board), 0));
+        finishStatistics(context);
+        return Math.min(context.found.get(), limit);
+    }
+
+    // Statistics are summed over all subtasks; elapsed time is wall-clock time of the whole solve.
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+        statistics = null;
+    }
+
+    @Override
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void finishStatistics(SearchContext context) {
+        if (context.statistics != null) {
+            context.statistics.finish();
+            statistics = context.statistics;
+        }
+    }
+
+    private static int[] toGrid(SudokuBoard board) {
+        int[] grid = new int[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            grid[i] = board.get(i / BOARD_SIZE, i % BOARD_SIZE);
+        }
+        return grid;
+    }
+
+    private static final class SearchContext {
+        private final int limit;
+        private final boolean keepSolution;
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicReference<int[]> solution = new AtomicReference<>();
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final SolveLimit solveLimit;
+        private final AtomicLong nodes = new AtomicLong();
+        private volatile boolean budgetExceeded;
+        private final SolverStatistics statistics;
+
+        private SearchContext(int limit, boolean keepSolution, SolveLimit solveLimit, boolean collectStatistics) {
+            this.limit = limit;
+            this.keepSolution = keepSolution;
+            this.solveLimit = solveLimit;
+            this.statistics = collectStatistics ? new SolverStatistics() : null;
+        }
+
+        private void recordNode(int depth) {
+            if (statistics != null) {
+                synchronized (statistics) {
+                    statistics.node(depth);
+                }
+            }
+        }
+
+        private void recordLeaf(SolverStatistics leaf, int depth) {
+            if (statistics != null && leaf != null) {
+                synchronized (statistics) {
+                    statistics.add(leaf, depth);
+                }
+            }
+        }
+
+        private void record(int[] grid, int solutions) {
+            if (keepSolution && solutions > 0) {
+                solution.compareAndSet(null, grid);
+            }
+            if (found.addAndGet(solutions) >= limit) {
+                stop.set(true);
+            }
+        }
+    }
+
+    private final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient SearchContext context;
+        private final int[] grid;
+        private final int depth;
+
+        private SearchTask(SearchContext context, int[] grid, int depth) {
+            this.context = context;
+            this.grid = grid;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (context.stop.get()) {
+                return;
+            }
+            if (depth >= splitDepth) {
+                searchSequentially();
+                return;
+            }
+
+            int cell = -1;
+            int candidates = 0;
+            int fewest = BOARD_SIZE + 1;
+            for (int i = 0; i < CELLS && fewest > 1; i++) {
+                if (grid[i] == 0) {
+                    int mask = candidates(i);
+                    if (Integer.bitCount(mask) < fewest) {
+                        fewest = Integer.bitCount(mask);
+                        cell = i;
+                        candidates = mask;
+                    }
+                }
+            }
+            context.recordNode(depth);
+            if (cell < 0) {
+                context.record(grid, 1);
+                return;
+            }
+
+            List<SearchTask> subtasks = new ArrayList<>(Integer.bitCount(candidates));
+            while (candidates != 0) {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                int[] next = grid.clone();
+                next[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+                subtasks.add(new SearchTask(context, next, depth + 1));
+            }
+            invokeAll(subtasks);
+        }
+
+        private void searchSequentially() {
+            BitmaskSudokuSolver solver = LEAF_SOLVERS.get();
+            solver.setStopSignal(context.stop);
+            solver.setStatisticsEnabled(context.statistics != null);
+            try {
+                if (context.solveLimit != null) {
+                    searchWithinBudget(solver);
+                } else if (context.keepSolution) {
+                    if (solver.solve(grid)) {
+                        context.record(grid, 1);
+                    }
+                } else {
+                    int remaining = context.limit - context.found.get();
+                    if (remaining > 0) {
+                        context.record(grid, solver.countSolutions(grid, remaining));
+                    }
+                }
+                context.recordLeaf(solver.getStatistics(), depth);
+            } finally {
+                solver.setStopSignal(null);
+                solver.setStatisticsEnabled(false);
+            }
+        }
+
+        private void searchWithinBudget(BitmaskSudokuSolver solver) {
+            long remaining = context.solveLimit.getMaxNodes() - context.nodes.get();
+            SolveResult result = remaining <= 0
+                    ? SolveResult.BUDGET_EXCEEDED
+                    : solver.solve(grid, context.solveLimit.withMaxNodes(remaining));
+            context.nodes.addAndGet(solver.nodes());
+            if (result == SolveResult.SOLVED) {
+                context.record(grid, 1);
+            } else if (result == SolveResult.BUDGET_EXCEEDED && !context.stop.get()) {
+                context.budgetExceeded = true;
+                context.stop.set(true);
+            }
+        }
+
+        private int candidates(int cell) {
+            int row = cell / BOARD_SIZE;
+            int col = cell % BOARD_SIZE;
+            int boxStart = row / 3 * 3 * BOARD_SIZE + col / 3 * 3;
+            int used = 0;
+            for (int i = 0; i < BOARD_SIZE; i++) {
+                used |= 1 << grid[row * BOARD_SIZE + i];
+                used |= 1 << grid[i * BOARD_SIZE + col];
+                used |= 1 << grid[boxStart + i / 3 * BOARD_SIZE + i % 3];
+            }
+            return ~(used >> 1) & ALL_DIGITS;
+        }
+    }
+}
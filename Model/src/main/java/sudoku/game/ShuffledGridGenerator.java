@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fills a board with a random solved grid without any search. Starts from a fixed valid grid and applies
+ * validity-preserving transformations: digit relabelling, row and column swaps within bands and stacks,
+ * band and stack swaps and an optional transposition.
+ */
+public class ShuffledGridGenerator {
+    private static final int BOARD_SIZE = SudokuBoard.BOARD_SIZE;
+    private static final int BAND = 3;
+
+    private final SplittableRandom random;
+    private final int[] digits = new int[BOARD_SIZE];
+    private final int[] rows = new int[BOARD_SIZE];
+    private final int[] cols = new int[BOARD_SIZE];
+    private final int[] bands = new int[BAND];
+    private final int[] lines = new int[BAND];
+
+    public ShuffledGridGenerator() {
+        this.random = new SplittableRandom();
+    }
+
+    // The same seed gives the same sequence of grids.
+    public ShuffledGridGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void fill(SudokuBoard board) {
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            digits[i] = i + 1;
+        }
+        shuffle(digits);
+        shuffleLines(rows);
+        shuffleLines(cols);
+        boolean transpose = random.nextBoolean();
+
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                int sourceRow = transpose ? cols[col] : rows[row];
+                int sourceCol = transpose ? rows[row] : cols[col];
+                board.set(row, col, digits[baseValue(sourceRow, sourceCol)]);
+            }
+        }
+    }
+
+    // Zero-based digit of a valid grid whose rows are shifted by 3 within a band and by 1 between bands.
+    private static int baseValue(int row, int col) {
+        return (row * BAND + row / BAND + col) % BOARD_SIZE;
+    }
+
+    private void shuffleLines(int[] mapping) {
+        for (int i = 0; i < BAND; i++) {
+            bands[i] = i;
+        }
+        shuffle(bands);
+        for (int band = 0; band < BAND; band++) {
+            for (int i = 0; i < BAND; i++) {
+                lines[i] = i;
+            }
+            shuffle(lines);
+            for (int i = 0; i < BAND; i++) {
+                mapping[band * BAND + i] = bands[band] * BAND + lines[i];
+            }
+        }
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
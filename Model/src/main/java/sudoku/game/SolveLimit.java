@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.time.Duration;
+
+/**
+ * Budget for a single solve: a wall-clock deadline and/or a maximum number of search nodes.
+ * The deadline is fixed when the limit is created, so create one limit per request.
+ * Solvers call {@link #isExceeded(long)} once per node; the node count is compared every time,
+ * while the clock and the thread's interrupt flag are only read every {@value #CLOCK_CHECK_INTERVAL} nodes.
+ */
+public final class SolveLimit {
+    public static final SolveLimit NONE = new SolveLimit(false, 0, Long.MAX_VALUE);
+    static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final long maxNodes;
+
+    private SolveLimit(boolean hasDeadline, long deadlineNanos, long maxNodes) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.maxNodes = maxNodes;
+    }
+
+    public static SolveLimit within(Duration timeout) {
+        return new SolveLimit(true, System.nanoTime() + timeout.toNanos(), Long.MAX_VALUE);
+    }
+
+    public static SolveLimit ofNodes(long maxNodes) {
+        return new SolveLimit(false, 0, maxNodes);
+    }
+
+    public static SolveLimit of(Duration timeout, long maxNodes) {
+        return new SolveLimit(true, System.nanoTime() + timeout.toNanos(), maxNodes);
+    }
+
+    // Same deadline with a different node budget.
+    SolveLimit withMaxNodes(long nodes) {
+        return new SolveLimit(hasDeadline, deadlineNanos, nodes);
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public boolean isExceeded(long nodes) {
+        if (nodes > maxNodes) {
+            return true;
+        }
+        if (nodes % CLOCK_CHECK_INTERVAL != 0) {
+            return false;
+        }
+        return hasDeadline && System.nanoTime() - deadlineNanos > 0 || Thread.currentThread().isInterrupted();
+    }
+}
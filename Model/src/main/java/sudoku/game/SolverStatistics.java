@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Counters collected by a solver for a single solve or count while statistics are enabled.
+ * A node is one visited search state, a backtrack is one undone placement and a propagation is one
+ * inference step made without branching; solvers that do not propagate report zero propagations.
+ */
+public final class SolverStatistics {
+    private final long startNanos;
+    private long nodes;
+    private long backtracks;
+    private long propagations;
+    private int maxDepth;
+    private long elapsedNanos;
+
+    SolverStatistics() {
+        this.startNanos = System.nanoTime();
+    }
+
+    void node(int depth) {
+        nodes++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    void backtrack() {
+        backtracks++;
+    }
+
+    void propagation() {
+        propagations++;
+    }
+
+    // Merges the counters of a search that started at the given depth of this one.
+    void add(SolverStatistics other, int depthOffset) {
+        nodes += other.nodes;
+        backtracks += other.backtracks;
+        propagations += other.propagations;
+        maxDepth = Math.max(maxDepth, other.maxDepth + depthOffset);
+    }
+
+    void finish() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    public long getPropagations() {
+        return propagations;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE)
+                .append("nodes", nodes)
+                .append("backtracks", backtracks)
+                .append("propagations", propagations)
+                .append("maxDepth", maxDepth)
+                .append("elapsedNanos", elapsedNanos)
+                .toString();
+    }
+}
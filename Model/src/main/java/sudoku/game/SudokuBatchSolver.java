@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves corpora in the one-puzzle-per-line format: 81 characters, digits for givens and {@code 0} or {@code .}
+ * for empty cells. Every non-blank input line produces one output line {@code puzzle,result}, in input order,
+ * where the result is the 81-digit solution, {@code unsolvable} or {@code invalid}.
+ * At most {@code maxInFlight} puzzles are queued or being solved at once; reading waits for the oldest result
+ * to be written when the window is full. Each worker thread reuses one solver and one grid.
+ */
+public class SudokuBatchSolver implements AutoCloseable {
+    public static final String UNSOLVABLE = "unsolvable";
+    public static final String INVALID = "invalid";
+    private static final int CELLS = SudokuBoard.BOARD_SIZE * SudokuBoard.BOARD_SIZE;
+    private static final ThreadLocal<Worker> WORKERS = ThreadLocal.withInitial(Worker::new);
+
+    private final ExecutorService executor;
+    private final int maxInFlight;
+
+    public SudokuBatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SudokuBatchSolver(int threads) {
+        this(threads, threads * 64);
+    }
+
+    public SudokuBatchSolver(int threads, int maxInFlight) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public record Summary(long solved, long unsolvable, long invalid) {
+    }
+
+    public Summary solve(Path input, Path output) throws IOException {
+        try (InputStream in = Files.newInputStream(input);
+             OutputStream out = Files.newOutputStream(output)) {
+            return solve(in, out);
+        }
+    }
+
+    public Summary solve(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.US_ASCII));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII));
+        Deque<Future<String>> window = new ArrayDeque<>(maxInFlight);
+        long[] counts = new long[3];
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String puzzle = line.trim();
+                if (puzzle.isEmpty()) {
+                    continue;
+                }
+                if (window.size() == maxInFlight) {
+                    writeResult(window.poll(), writer, counts);
+                }
+                window.add(executor.submit(() -> solveLine(puzzle)));
+            }
+            while (!window.isEmpty()) {
+                writeResult(window.poll(), writer, counts);
+            }
+            writer.flush();
+            return new Summary(counts[0], counts[1], counts[2]);
+        } finally {
+            // Only non-empty when reading or writing failed; the queued puzzles are no longer wanted.
+            for (Future<String> pending : window) {
+                pending.cancel(true);
+            }
+        }
+    }
+
+    private static void writeResult(Future<String> result, Writer writer, long[] counts) throws IOException {
+        String line;
+        try {
+            line = result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch solve interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        if (line.endsWith(UNSOLVABLE)) {
+            counts[1]++;
+        } else if (line.endsWith(INVALID)) {
+            counts[2]++;
+        } else {
+            counts[0]++;
+        }
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Throws CancellationException once the calling thread is interrupted, e.g. by cancelling its future.
+    static String solveLine(String puzzle) {
+        return WORKERS.get().solve(puzzle);
+    }
+
+    private static final class Worker {
+        private final BitmaskSudokuSolver solver = new BitmaskSudokuSolver();
+        private final int[] grid = new int[CELLS];
+        private final char[] digits = new char[CELLS];
+
+        private String solve(String puzzle) {
+            if (!parse(puzzle)) {
+                return puzzle + ',' + INVALID;
+            }
+            // SolveLimit.NONE still polls the interrupt flag, so a cancelled puzzle stops mid-search.
+            SolveResult result = solver.solve(grid, SolveLimit.NONE);
+            if (result == SolveResult.BUDGET_EXCEEDED) {
+                throw new CancellationException("Puzzle cancelled");
+            }
+            if (result == SolveResult.UNSOLVABLE) {
+                return puzzle + ',' + UNSOLVABLE;
+            }
+            for (int i = 0; i < CELLS; i++) {
+                digits[i] = (char) ('0' + grid[i]);
+            }
+            return puzzle + ',' + new String(digits);
+        }
+
+        private boolean parse(String puzzle) {
+            if (puzzle.length() != CELLS) {
+                return false;
+            }
+            for (int i = 0; i < CELLS; i++) {
+                char c = puzzle.charAt(i);
+                if (c == '.' || c == '0') {
+                    grid[i] = 0;
+                } else if (c >= '1' && c <= '9') {
+                    grid[i] = c - '0';
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -15,23 +15,74 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sudoku.game.exception.FieldException;
 import sudoku.game.exception.SudokuException;
 import sudoku.game.exception.SudokuNullPointerException;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.ResourceBundle;
 
 public class SudokuBoard implements Serializable, Cloneable {
     private static final long serialVersionUID = 1L;
+    // Boards written before the cells were packed stored "board", nested rows of SudokuField; they still load.
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("cells", byte[].class),
+        new ObjectStreamField("givensLow", long.class),
+        new ObjectStreamField("givensHigh", long.class),
+        new ObjectStreamField("solver", SudokuSolver.class),
+        new ObjectStreamField("board", List.class)
+    };
     public static final int BOARD_SIZE = 9;
-    private List<List<SudokuField>> board;
+    private static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    private byte[] cells;
+    private transient SudokuField[] fields;
+    private transient SudokuRow[] rows;
+    private transient SudokuColumn[] columns;
+    private transient SudokuBox[] boxes;
+    private transient byte[] digitCounts;
+    private transient short[] unitMasks;
+    private transient int conflicts;
+    private transient int filled;
+    // Bit i of givensLow is cell i, bit i of givensHigh is cell 64 + i.
+    private long givensLow;
+    private long givensHigh;
+    // Cells changed since the last markClean(), same bit layout as the givens. A board starts fully dirty.
+    private transient long dirtyLow;
+    private transient long dirtyHigh;
+    // The store and name the dirty cells are relative to, as given to the last markClean(store, name).
+    private transient Object syncedStore;
+    private transient String syncedName;
     private SudokuSolver solver;
     private static final Logger logger = LoggerFactory.getLogger(SudokuBoard.class);
     private static final ResourceBundle messages = ResourceBundle.getBundle(
             "bundle.exception", java.util.Locale.getDefault());
+    private static final int UNIT_COUNT = 3 * BOARD_SIZE;
+    private static final int[][] UNITS = new int[UNIT_COUNT][BOARD_SIZE];
+    private static final int[][] UNITS_OF_CELL = new int[CELLS][3];
+
+    static {
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                UNITS[i][j] = j * BOARD_SIZE + i;
+                UNITS[BOARD_SIZE + i][j] = i * BOARD_SIZE + j;
+                UNITS[2 * BOARD_SIZE + i][j] = (i / 3 * 3 + j / 3) * BOARD_SIZE + i % 3 * 3 + j % 3;
+            }
+        }
+        for (int unit = 0; unit < UNIT_COUNT; unit++) {
+            for (int index : UNITS[unit]) {
+                UNITS_OF_CELL[index][unit / BOARD_SIZE] = unit;
+            }
+        }
+    }
 
     public SudokuBoard(SudokuSolver solver) {
         if (solver == null) {
@@ -40,88 +91,298 @@ public class SudokuBoard implements Serializable, Cloneable {
             throw new SudokuNullPointerException(SudokuNullPointerException.NULL_POINTER);
         }
         this.solver = solver;
-
-        List<List<SudokuField>> tempBoard = new ArrayList<>(BOARD_SIZE);
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            List<SudokuField> row = new ArrayList<>(BOARD_SIZE);
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                row.add(new SudokuField());  
-            }
-            tempBoard.add(Collections.unmodifiableList(row));  
-        }
-        this.board = Collections.unmodifiableList(tempBoard);
+        this.cells = new byte[CELLS];
+        this.digitCounts = new byte[UNIT_COUNT * (BOARD_SIZE + 1)];
+        this.unitMasks = new short[UNIT_COUNT];
+        markAllDirty();
     }
 
+    private static int index(int x, int y) {
+        Objects.checkIndex(x, BOARD_SIZE);
+        Objects.checkIndex(y, BOARD_SIZE);
+        return x * BOARD_SIZE + y;
+    }
 
     public int get(int x, int y) {
-        return board.get(x).get(y).getFieldValue();
+        return cells[index(x, y)];
     }
 
     public void set(int x, int y, int value) {
-        board.get(x).get(y).setFieldValue(value);
+        int index = index(x, y);
+        if (value < 1 || value > BOARD_SIZE) {
+            String errorMessage = messages.getString("error.sudokuInvalidValue");
+            logger.error(errorMessage);
+            throw new FieldException(FieldException.INVALID_VALUE);
+        }
+        setValue(index, value);
     }
 
     public void setToDefault(int x, int y) {
-        board.get(x).get(y).setToDefault();
+        setValue(index(x, y), 0);
     }
 
-    public boolean checkBoard() {
-        for (int i = 0; i < BOARD_SIZE; i++) {
+    int getValue(int index) {
+        return cells[index];
+    }
 
-            if (!getColumn(i).verify()) {
-                return false;
+    void setValue(int index, int value) {
+        int old = cells[index];
+        if (old == value) {
+            return;
+        }
+        if (old != 0) {
+            filled--;
+            for (int unit : UNITS_OF_CELL[index]) {
+                removeDigit(unit, old);
             }
-            if (!getRow(i).verify()) {
-                return false;
+        }
+        if (value != 0) {
+            filled++;
+            for (int unit : UNITS_OF_CELL[index]) {
+                addDigit(unit, value);
             }
-            if (i % 3 == 0) {
-                for (int j = 0; j < BOARD_SIZE; j = j + 3) {
-                    if (!getBox(i, j).verify()) {
-                        return false;
-                    }
+        }
+        cells[index] = (byte) value;
+        if (index < Long.SIZE) {
+            dirtyLow |= 1L << index;
+        } else {
+            dirtyHigh |= 1L << (index - Long.SIZE);
+        }
+    }
+
+    public boolean isDirty() {
+        return (dirtyLow | dirtyHigh) != 0;
+    }
+
+    public boolean isDirty(int x, int y) {
+        int index = index(x, y);
+        return index < Long.SIZE
+                ? (dirtyLow & 1L << index) != 0
+                : (dirtyHigh & 1L << (index - Long.SIZE)) != 0;
+    }
+
+    // Clears the dirty cells without recording where the clean state is stored.
+    public void markClean() {
+        markClean(null, null);
+    }
+
+    // Called by DAOs once the board's current state has been persisted to or loaded from name in store.
+    public void markClean(Object store, String name) {
+        dirtyLow = 0;
+        dirtyHigh = 0;
+        syncedStore = store;
+        syncedName = name;
+    }
+
+    // Whether the dirty cells are relative to the board stored under name in store; if not, saving only
+    // the dirty cells there would mix two boards.
+    public boolean isSyncedWith(Object store, String name) {
+        return syncedStore != null && syncedStore.equals(store) && syncedName.equals(name);
+    }
+
+    // Takes over the clean state of saved, a copy of this board that has since been stored: cells that still
+    // hold the stored values become clean, cells changed after the copy was taken stay dirty.
+    public void markSaved(SudokuBoard saved) {
+        long low = 0;
+        long high = 0;
+        for (int index = 0; index < CELLS; index++) {
+            if (cells[index] != saved.cells[index]) {
+                if (index < Long.SIZE) {
+                    low |= 1L << index;
+                } else {
+                    high |= 1L << (index - Long.SIZE);
                 }
             }
+        }
+        dirtyLow = low;
+        dirtyHigh = high;
+        syncedStore = saved.syncedStore;
+        syncedName = saved.syncedName;
+    }
+
+    private void markAllDirty() {
+        dirtyLow = -1L;
+        dirtyHigh = (1L << (CELLS - Long.SIZE)) - 1;
+    }
+
+    private void addDigit(int unit, int digit) {
+        if (++digitCounts[unit * (BOARD_SIZE + 1) + digit] == 1) {
+            unitMasks[unit] |= (short) (1 << (digit - 1));
+        } else {
+            conflicts++;
+        }
+    }
+
+    private void removeDigit(int unit, int digit) {
+        if (--digitCounts[unit * (BOARD_SIZE + 1) + digit] == 0) {
+            unitMasks[unit] &= (short) ~(1 << (digit - 1));
+        } else {
+            conflicts--;
+        }
+    }
+
+    public boolean isGiven(int x, int y) {
+        int index = index(x, y);
+        return index < Long.SIZE
+                ? (givensLow & 1L << index) != 0
+                : (givensHigh & 1L << (index - Long.SIZE)) != 0;
+    }
+
+    public void setGiven(int x, int y, boolean given) {
+        int index = index(x, y);
+        if (index < Long.SIZE) {
+            givensLow = given ? givensLow | 1L << index : givensLow & ~(1L << index);
+        } else {
+            int bit = index - Long.SIZE;
+            givensHigh = given ? givensHigh | 1L << bit : givensHigh & ~(1L << bit);
+        }
+    }
+
+    // Every filled cell becomes a given and every empty cell stops being one.
+    public void markGivens() {
+        givensLow = 0;
+        givensHigh = 0;
+        for (int index = 0; index < CELLS; index++) {
+            if (cells[index] != 0) {
+                setGiven(index / BOARD_SIZE, index % BOARD_SIZE, true);
+            }
+        }
+    }
 
+    public boolean isMoveLegal(int x, int y, int value) {
+        int index = index(x, y);
+        if (value < 1 || value > BOARD_SIZE) {
+            return false;
         }
-        return true;
+        int bit = 1 << (value - 1);
+        int[] units = UNITS_OF_CELL[index];
+        int taken = unitMasks[units[0]] | unitMasks[units[1]] | unitMasks[units[2]];
+        return (taken & bit) == 0 || (cells[index] == value
+                && digitCounts[units[0] * (BOARD_SIZE + 1) + value] == 1
+                && digitCounts[units[1] * (BOARD_SIZE + 1) + value] == 1
+                && digitCounts[units[2] * (BOARD_SIZE + 1) + value] == 1);
+    }
+
+    public boolean isValid() {
+        return conflicts == 0;
+    }
+
+    public boolean isComplete() {
+        return filled == CELLS;
+    }
+
+    public boolean checkBoard() {
+        return isComplete() && isValid();
     }
 
     public void solveGame() {
         solver.solve(this);
     }
 
+    public SolveResult solveGame(SolveLimit limit) {
+        return solver.solve(this, limit);
+    }
+
     public SudokuRow getRow(int y) {
-        List<SudokuField> fieldsToCheck = new ArrayList<>(BOARD_SIZE);
-        for (int x = 0; x < BOARD_SIZE; x++) {
-            fieldsToCheck.add(board.get(x).get(y));
+        if (rows == null) {
+            rows = new SudokuRow[BOARD_SIZE];
+        }
+        if (rows[y] == null) {
+            rows[y] = new SudokuRow(unitFields(y));
         }
-        return new SudokuRow(fieldsToCheck);
+        return rows[y];
     }
 
     public SudokuColumn getColumn(int x) {
-        List<SudokuField> fieldsToCheck = new ArrayList<>(BOARD_SIZE);
-
-        for (int y = 0; y < BOARD_SIZE; y++) {
-            fieldsToCheck.add(board.get(x).get(y));
+        if (columns == null) {
+            columns = new SudokuColumn[BOARD_SIZE];
+        }
+        if (columns[x] == null) {
+            columns[x] = new SudokuColumn(unitFields(BOARD_SIZE + x));
         }
-        return new SudokuColumn(fieldsToCheck);
+        return columns[x];
     }
 
     public SudokuBox getBox(int x, int y) {
+        int box = index(x, y) / (3 * BOARD_SIZE) * 3 + y / 3;
+        if (boxes == null) {
+            boxes = new SudokuBox[BOARD_SIZE];
+        }
+        if (boxes[box] == null) {
+            boxes[box] = new SudokuBox(unitFields(2 * BOARD_SIZE + box));
+        }
+        return boxes[box];
+    }
+
+    private List<SudokuField> unitFields(int unit) {
         List<SudokuField> fieldsToCheck = new ArrayList<>(BOARD_SIZE);
-        for (int i = 0; i < SudokuBox.SIZE_BOX; i++) {
-            for (int j = 0; j < SudokuBox.SIZE_BOX; j++) {
-                fieldsToCheck.add(board.get(x / 3 * 3 + i).get(y / 3 * 3 + j));
+        for (int index : UNITS[unit]) {
+            fieldsToCheck.add(getSudokuField(index / BOARD_SIZE, index % BOARD_SIZE));
+        }
+        return fieldsToCheck;
+    }
+
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField stored = out.putFields();
+        stored.put("cells", cells);
+        stored.put("givensLow", givensLow);
+        stored.put("givensHigh", givensHigh);
+        stored.put("solver", solver);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField stored = in.readFields();
+        solver = (SudokuSolver) stored.get("solver", null);
+        givensLow = stored.get("givensLow", 0L);
+        givensHigh = stored.get("givensHigh", 0L);
+        byte[] values = (byte[]) stored.get("cells", null);
+        if (values == null) {
+            values = legacyCells((List<?>) stored.get("board", null));
+        }
+        cells = new byte[CELLS];
+        digitCounts = new byte[UNIT_COUNT * (BOARD_SIZE + 1)];
+        unitMasks = new short[UNIT_COUNT];
+        if (values == null || values.length != CELLS) {
+            throw new InvalidObjectException("Sudoku board must have " + CELLS + " cells");
+        }
+        for (int index = 0; index < CELLS; index++) {
+            if (values[index] < 0 || values[index] > BOARD_SIZE) {
+                throw new InvalidObjectException("Invalid value at cell " + index);
             }
+            setValue(index, values[index]);
         }
-        return new SudokuBox(fieldsToCheck);
+        markAllDirty();
     }
 
+    private static byte[] legacyCells(List<?> rows) throws InvalidObjectException {
+        if (rows == null || rows.size() != BOARD_SIZE) {
+            throw new InvalidObjectException("Sudoku board must have " + BOARD_SIZE + " rows");
+        }
+        byte[] values = new byte[CELLS];
+        for (int x = 0; x < BOARD_SIZE; x++) {
+            if (!(rows.get(x) instanceof List<?> row) || row.size() != BOARD_SIZE) {
+                throw new InvalidObjectException("Sudoku board row " + x + " must have " + BOARD_SIZE + " fields");
+            }
+            for (int y = 0; y < BOARD_SIZE; y++) {
+                if (!(row.get(y) instanceof SudokuField field)) {
+                    throw new InvalidObjectException("Invalid field at " + x + "," + y);
+                }
+                values[x * BOARD_SIZE + y] = (byte) field.getFieldValue();
+            }
+        }
+        return values;
+    }
 
     public void applyLevel(LevelsSudoku difficulty) {
         difficulty.applyDifficulty(this);
     }
 
+    public void applyLevel(LevelsSudoku difficulty, long seed) {
+        difficulty.applyDifficulty(this, seed);
+    }
+
 
     @Override
     public boolean equals(Object o) {
@@ -135,20 +396,25 @@ public class SudokuBoard implements Serializable, Cloneable {
 
         SudokuBoard board1 = (SudokuBoard) o;
 
-        return new EqualsBuilder()
-                .append(board, board1.board)
-                .isEquals();
+        return Arrays.equals(cells, board1.cells);
     }
 
 
     public SudokuField getSudokuField(int row, int col) {
-        return board.get(row).get(col);
+        int index = index(row, col);
+        if (fields == null) {
+            fields = new SudokuField[CELLS];
+        }
+        if (fields[index] == null) {
+            fields[index] = new SudokuField(this, index);
+        }
+        return fields[index];
     }
 
     @Override
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
-                .append(board)
+                .append(cells)
                 .append(solver)
                 .toHashCode();
     }
@@ -157,9 +423,9 @@ public class SudokuBoard implements Serializable, Cloneable {
     public String toString() {
         StringBuilder boardString = new StringBuilder();
 
-        for (List<SudokuField> row : board) {
-            for (SudokuField field : row) {
-                boardString.append(field.getFieldValue()).append(" ");
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                boardString.append(cells[i * BOARD_SIZE + j]).append(" ");
             }
             boardString.append(System.lineSeparator()); 
         }
@@ -173,19 +439,13 @@ public class SudokuBoard implements Serializable, Cloneable {
     public SudokuBoard clone() {
         try {
             SudokuBoard clone = (SudokuBoard) super.clone();
-
-            List<List<SudokuField>> clonedBoard = new ArrayList<>(BOARD_SIZE);
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                List<SudokuField> clonedRow = new ArrayList<>(BOARD_SIZE);
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    clonedRow.add(this.board.get(i).get(j).clone());
-                }
-                clonedBoard.add(clonedRow);
-
-
-                clone.board = clonedBoard;
-
-            }
+            clone.cells = cells.clone();
+            clone.digitCounts = digitCounts.clone();
+            clone.unitMasks = unitMasks.clone();
+            clone.fields = null;
+            clone.rows = null;
+            clone.columns = null;
+            clone.boxes = null;
             return clone;
         } catch (CloneNotSupportedException e) {
             String errorMassage = messages.getString("error.cloningProblem");
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import java.io.StreamCorruptedException;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of a board, 59 bytes in version 1:
+ * the magic bytes {@code 'S' 'B'}, a version byte, the 81 cell values packed two per byte (high nibble first),
+ * an 81-bit givens mask in 11 bytes (cell {@code i} is bit {@code i % 8} of byte {@code i / 8})
+ * and a big-endian CRC32 of everything before it. The solver is not stored.
+ */
+public final class SudokuBoardCodec {
+    public static final int VERSION = 1;
+    public static final int ENCODED_LENGTH = 59;
+    private static final byte MAGIC_0 = 'S';
+    private static final byte MAGIC_1 = 'B';
+    private static final int CELLS = SudokuBoard.BOARD_SIZE * SudokuBoard.BOARD_SIZE;
+    private static final int VALUES_OFFSET = 3;
+    private static final int VALUES_LENGTH = (CELLS + 1) / 2;
+    private static final int GIVENS_OFFSET = VALUES_OFFSET + VALUES_LENGTH;
+    private static final int GIVENS_LENGTH = (CELLS + 7) / 8;
+    private static final int CRC_OFFSET = GIVENS_OFFSET + GIVENS_LENGTH;
+
+    private SudokuBoardCodec() {
+    }
+
+    public static byte[] encode(SudokuBoard board) {
+        byte[] data = new byte[ENCODED_LENGTH];
+        data[0] = MAGIC_0;
+        data[1] = MAGIC_1;
+        data[2] = VERSION;
+        for (int index = 0; index < CELLS; index++) {
+            int x = index / SudokuBoard.BOARD_SIZE;
+            int y = index % SudokuBoard.BOARD_SIZE;
+            int shift = index % 2 == 0 ? 4 : 0;
+            data[VALUES_OFFSET + index / 2] |= (byte) (board.get(x, y) << shift);
+            if (board.isGiven(x, y)) {
+                data[GIVENS_OFFSET + index / 8] |= (byte) (1 << index % 8);
+            }
+        }
+        int crc = checksum(data);
+        data[CRC_OFFSET] = (byte) (crc >>> 24);
+        data[CRC_OFFSET + 1] = (byte) (crc >>> 16);
+        data[CRC_OFFSET + 2] = (byte) (crc >>> 8);
+        data[CRC_OFFSET + 3] = (byte) crc;
+        return data;
+    }
+
+    public static SudokuBoard decode(byte[] data, SudokuSolver solver) throws StreamCorruptedException {
+        if (data.length != ENCODED_LENGTH || data[0] != MAGIC_0 || data[1] != MAGIC_1) {
+            throw new StreamCorruptedException("Not a compact Sudoku board");
+        }
+        if (data[2] != VERSION) {
+            throw new StreamCorruptedException("Unsupported compact board version " + data[2]);
+        }
+        int crc = (data[CRC_OFFSET] & 0xFF) << 24 | (data[CRC_OFFSET + 1] & 0xFF) << 16
+                | (data[CRC_OFFSET + 2] & 0xFF) << 8 | data[CRC_OFFSET + 3] & 0xFF;
+        if (crc != checksum(data)) {
+            throw new StreamCorruptedException("Compact board checksum mismatch");
+        }
+
+        SudokuBoard board = new SudokuBoard(solver);
+        for (int index = 0; index < CELLS; index++) {
+            int x = index / SudokuBoard.BOARD_SIZE;
+            int y = index % SudokuBoard.BOARD_SIZE;
+            int shift = index % 2 == 0 ? 4 : 0;
+            int value = data[VALUES_OFFSET + index / 2] >> shift & 0xF;
+            boolean given = (data[GIVENS_OFFSET + index / 8] & 1 << index % 8) != 0;
+            if (value > SudokuBoard.BOARD_SIZE || given && value == 0) {
+                throw new StreamCorruptedException("Invalid compact board cell " + index);
+            }
+            if (value != 0) {
+                board.set(x, y, value);
+                board.setGiven(x, y, given);
+            }
+        }
+        return board;
+    }
+
+    private static int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, CRC_OFFSET);
+        return (int) crc.getValue();
+    }
+}
@@ -18,6 +18,14 @@ public class SudokuBoardDaoFactory {
         return new FileSudokuBoardDao(fileName);
     }
 
+    public static Dao<SudokuBoard> getFileDao(String fileName, FileSudokuBoardDao.Format format) {
+        return new FileSudokuBoardDao(fileName, format);
+    }
+
+    public static Dao<SudokuBoard> getMappedDao(String directory) {
+        return new MappedSudokuBoardDao(directory);
+    }
+
     public static JdbcSudokuBoardDao getJdbcDao() {
         try {
             return new JdbcSudokuBoardDao();
@@ -22,6 +22,8 @@ import java.util.ResourceBundle;
 public class SudokuField implements Serializable,Cloneable, Comparable<SudokuField> {
     private static final long serialVersionUID = 1L;
     private int value;
+    private SudokuBoard board;
+    private int index;
     private static final Logger logger = LoggerFactory.getLogger(SudokuField.class);
     private static final ResourceBundle messages = ResourceBundle.getBundle(
             "bundle.exception", java.util.Locale.getDefault());
@@ -30,12 +32,25 @@ public class SudokuField implements Serializable,Cloneable, Comparable<SudokuFie
 
     }
 
+    SudokuField(SudokuBoard board, int index) {
+        this.board = board;
+        this.index = index;
+    }
+
     public int getFieldValue() {
-        return value;
+        return board == null ? value : board.getValue(index);
     }
 
     public void setUnsolvedValue() {
-        this.value = 0;
+        setToDefault();
+    }
+
+    private void storeValue(int value) {
+        if (board == null) {
+            this.value = value;
+        } else {
+            board.setValue(index, value);
+        }
     }
 
     public void setFieldValue(int value) {
@@ -44,12 +59,12 @@ public class SudokuField implements Serializable,Cloneable, Comparable<SudokuFie
             logger.error(errorMessage);
             throw new FieldException(FieldException.INVALID_VALUE);
         } else {
-            this.value = value;
+            storeValue(value);
         }
     }
 
     public void setToDefault() {
-        this.value = 0;
+        storeValue(0);
     }
 
     @Override
@@ -60,17 +75,17 @@ public class SudokuField implements Serializable,Cloneable, Comparable<SudokuFie
         if (!(obj instanceof SudokuField that)) {
             return false;
         }
-        return value == that.value;
+        return getFieldValue() == that.getFieldValue();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(value);
+        return Objects.hashCode(getFieldValue());
     }
 
     @Override
     public String toString() {
-        return "SudokuField{" + "value=" + value + '}';
+        return "SudokuField{" + "value=" + getFieldValue() + '}';
     }
 
     @Override
@@ -80,19 +95,15 @@ public class SudokuField implements Serializable,Cloneable, Comparable<SudokuFie
             logger.error(errorMessage);
             throw new SudokuNullPointerException(SudokuNullPointerException.NULL_POINTER);
         }
-        if (this.value > o.value) {
-            return 1;
-        }
-        if (this.value < o.value) {
-            return -1;
-        }
-        return 0;
+        return Integer.compare(getFieldValue(), o.getFieldValue());
     }
 
     @Override
     public SudokuField clone() {
         try {
             SudokuField clone = (SudokuField) super.clone();
+            clone.value = getFieldValue();
+            clone.board = null;
             return clone;
         } catch (CloneNotSupportedException e) {
             String errorMessage = messages.getString("error.cloningProblem");
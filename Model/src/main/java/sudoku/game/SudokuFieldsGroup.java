@@ -41,12 +41,13 @@ public class SudokuFieldsGroup implements Serializable, Cloneable {
     }
 
     public boolean verify() {
-        for (int i = 0; i < SIZE - 1; i++) {
-            for (int j = i + 1; j < SIZE; j++) {
-                if (fieldsToCheck.get(i).getFieldValue() == fieldsToCheck.get(j).getFieldValue()) {
-                    return false;
-                }
+        int seen = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int bit = 1 << fieldsToCheck.get(i).getFieldValue();
+            if ((seen & bit) != 0) {
+                return false;
             }
+            seen |= bit;
         }
         return true;
     }
@@ -65,19 +66,38 @@ public class SudokuFieldsGroup implements Serializable, Cloneable {
     }
 
     public boolean isValidBoard() {
-        for (int i = 0; i < SIZE - 1; i++) {
-            for (int j = i + 1; j < SIZE; j++) {
-                int value1 = fieldsToCheck.get(i).getFieldValue();
-                int value2 = fieldsToCheck.get(j).getFieldValue();
-
-                if (value1 != 0 && value2 != 0 && value1 == value2) {
-                    return false;
-                }
+        int seen = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int bit = (1 << fieldsToCheck.get(i).getFieldValue()) & ~1;
+            if ((seen & bit) != 0) {
+                return false;
             }
+            seen |= bit;
         }
         return true;
     }
 
+    // Bit i is set when the non-zero value at position i also appears at another position of the group.
+    public int conflictMask() {
+        int seen = 0;
+        long firstPositions = 0;
+        int conflicts = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int value = fieldsToCheck.get(i).getFieldValue();
+            if (value == 0) {
+                continue;
+            }
+            int bit = 1 << value;
+            if ((seen & bit) == 0) {
+                seen |= bit;
+                firstPositions |= (long) i << (4 * value);
+            } else {
+                conflicts |= 1 << i | 1 << (int) ((firstPositions >>> (4 * value)) & 0xF);
+            }
+        }
+        return conflicts;
+    }
+
 
     @Override
     public boolean equals(Object obj) {
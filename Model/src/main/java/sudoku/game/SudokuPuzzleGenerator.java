@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 Mateusz Ciołkowski Szymon Kaźmierczak
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial 4.0 International License.
+ * You may not use the material for commercial purposes. You may copy, modify, distribute, and perform the work,
+ * as long as you give appropriate credit, provide a link to the license, and indicate if changes were made.
+ * Full license text: https://creativecommons.org/licenses/by-nc/4.0/legalcode
+ */
+
+package sudoku.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a solved board into a puzzle by removing clues one at a time in random order
+ * and keeping only the removals after which the puzzle still has exactly one solution.
+ * When a pass ends above the target clue count, a new random order is tried until the time budget runs out;
+ * the best puzzle found so far is applied in that case.
+ * A generator created with {@link #withSeed(long)} bounds the number of passes instead of the time,
+ * so the puzzle depends only on the seed and the solved board.
+ */
+public class SudokuPuzzleGenerator {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    public static final int SEEDED_PASS_BUDGET = 1000;
+    private static final int CELLS = SudokuBoard.BOARD_SIZE * SudokuBoard.BOARD_SIZE;
+    private static final Logger logger = LoggerFactory.getLogger(SudokuPuzzleGenerator.class);
+
+    private final BitmaskSudokuSolver counter = new BitmaskSudokuSolver();
+    private final SplittableRandom random;
+    private final long timeBudgetNanos;
+    private final int passBudget;
+    private final int[] solution = new int[CELLS];
+    private final int[] grid = new int[CELLS];
+    private final int[] best = new int[CELLS];
+    private final int[] order = new int[CELLS];
+
+    public SudokuPuzzleGenerator() {
+        this(DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    public SudokuPuzzleGenerator(long timeBudgetMillis) {
+        this(new SplittableRandom(), TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis), Integer.MAX_VALUE);
+    }
+
+    private SudokuPuzzleGenerator(SplittableRandom random, long timeBudgetNanos, int passBudget) {
+        this.random = random;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.passBudget = passBudget;
+    }
+
+    public static SudokuPuzzleGenerator withSeed(long seed) {
+        return new SudokuPuzzleGenerator(new SplittableRandom(seed), Long.MAX_VALUE, SEEDED_PASS_BUDGET);
+    }
+
+    // The board must have exactly one solution, e.g. be solved; otherwise no clue could be removed safely.
+    public int removeClues(SudokuBoard board, int numbersToRemove) {
+        if (numbersToRemove <= 0) {
+            return 0;
+        }
+        for (int i = 0; i < CELLS; i++) {
+            solution[i] = board.get(i / SudokuBoard.BOARD_SIZE, i % SudokuBoard.BOARD_SIZE);
+        }
+        if (counter.countSolutions(solution, 2) != 1) {
+            logger.error("Cannot remove clues from a board without a unique solution");
+            throw new IllegalArgumentException("Board must have exactly one solution");
+        }
+
+        long start = System.nanoTime();
+        int bestRemoved = -1;
+        int passes = 0;
+        do {
+            int removed = removalPass(numbersToRemove, start);
+            if (removed > bestRemoved) {
+                bestRemoved = removed;
+                System.arraycopy(grid, 0, best, 0, CELLS);
+            }
+            passes++;
+        } while (bestRemoved < numbersToRemove && passes < passBudget && !outOfTime(start));
+
+        if (bestRemoved < numbersToRemove) {
+            logger.warn("Removed {} of {} clues within the budget", bestRemoved, numbersToRemove);
+        }
+        for (int i = 0; i < CELLS; i++) {
+            if (best[i] == 0 && solution[i] != 0) {
+                board.setToDefault(i / SudokuBoard.BOARD_SIZE, i % SudokuBoard.BOARD_SIZE);
+            }
+        }
+        return bestRemoved;
+    }
+
+    private boolean outOfTime(long start) {
+        return System.nanoTime() - start >= timeBudgetNanos;
+    }
+
+    private int removalPass(int numbersToRemove, long start) {
+        System.arraycopy(solution, 0, grid, 0, CELLS);
+        for (int i = 0; i < CELLS; i++) {
+            order[i] = i;
+        }
+        for (int i = CELLS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        int removed = 0;
+        for (int k = 0; k < CELLS && removed < numbersToRemove; k++) {
+            int index = order[k];
+            int value = grid[index];
+            if (value == 0) {
+                continue;
+            }
+            grid[index] = 0;
+            if (counter.countSolutions(grid, 2) == 1) {
+                removed++;
+            } else {
+                grid[index] = value;
+            }
+            if (outOfTime(start)) {
+                break;
+            }
+        }
+        return removed;
+    }
+}
@@ -11,4 +11,91 @@ package sudoku.game;
 
 public interface SudokuSolver {
     boolean solve(SudokuBoard board);
+
+    // Counts up to limit solutions without modifying the board. The default backtracks in place over a copy of
+    // the cells and the digits used by each unit, branching on the cell with the fewest candidates; engines with
+    // their own search override it.
+    default int countSolutions(SudokuBoard board, int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        int size = SudokuBoard.BOARD_SIZE;
+        int[] cells = new int[size * size];
+        // Bit d - 1 set when digit d is used: rows, then columns, then boxes.
+        int[] used = new int[3 * size];
+        for (int index = 0; index < cells.length; index++) {
+            int value = board.get(index / size, index % size);
+            if (value != 0) {
+                int bit = 1 << (value - 1);
+                if ((candidates(used, index) & bit) == 0) {
+                    return 0;
+                }
+                cells[index] = value;
+                toggle(used, index, bit);
+            }
+        }
+        return countCells(cells, used, limit);
+    }
+
+    // Solvers that cannot stop early ignore the limit. The board is only modified when the result is SOLVED.
+    default SolveResult solve(SudokuBoard board, SolveLimit limit) {
+        return solve(board) ? SolveResult.SOLVED : SolveResult.UNSOLVABLE;
+    }
+
+    // While disabled, solvers skip all bookkeeping.
+    default void setStatisticsEnabled(boolean enabled) {
+    }
+
+    // Statistics of the last solve or count, or null when disabled or not supported.
+    default SolverStatistics getStatistics() {
+        return null;
+    }
+
+    private static int countCells(int[] cells, int[] used, int limit) {
+        int best = -1;
+        int bestCandidates = 0;
+        int fewest = Integer.MAX_VALUE;
+        for (int index = 0; index < cells.length && fewest > 1; index++) {
+            if (cells[index] == 0) {
+                int candidates = candidates(used, index);
+                int count = Integer.bitCount(candidates);
+                if (count < fewest) {
+                    best = index;
+                    bestCandidates = candidates;
+                    fewest = count;
+                }
+            }
+        }
+        if (best < 0) {
+            return 1;
+        }
+        int found = 0;
+        while (bestCandidates != 0 && found < limit) {
+            int bit = bestCandidates & -bestCandidates;
+            bestCandidates ^= bit;
+            cells[best] = Integer.numberOfTrailingZeros(bit) + 1;
+            toggle(used, best, bit);
+            found += countCells(cells, used, limit - found);
+            toggle(used, best, bit);
+            cells[best] = 0;
+        }
+        return found;
+    }
+
+    private static int candidates(int[] used, int index) {
+        int size = SudokuBoard.BOARD_SIZE;
+        int row = index / size;
+        int col = index % size;
+        int box = row / 3 * 3 + col / 3;
+        return ~(used[row] | used[size + col] | used[2 * size + box]) & ((1 << size) - 1);
+    }
+
+    private static void toggle(int[] used, int index, int bit) {
+        int size = SudokuBoard.BOARD_SIZE;
+        int row = index / size;
+        int col = index % size;
+        used[row] ^= bit;
+        used[size + col] ^= bit;
+        used[2 * size + row / 3 * 3 + col / 3] ^= bit;
+    }
 }
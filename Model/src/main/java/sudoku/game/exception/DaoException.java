@@ -11,6 +11,8 @@ package sudoku.game.exception;
 
 public class DaoException extends SudokuException {
    public static final String INVALID_DIRECTORY = "error.invalidDirectory";
+   public static final String NAME_TOO_LONG = "error.nameTooLong";
+   public static final String DAO_CLOSED = "error.daoClosed";
 
   public DaoException(String message) {
     super(message);
@@ -34,11 +34,12 @@ public class SudokuException extends RuntimeException {
 
     @Override
     public String getLocalizedMessage() {
+        // Messages that are not bundle keys, e.g. from JdbcSudokuBoardDao, are shown as they are.
         String message;
         try {
             message = bundle.getString(getMessage());
-        } catch (MissingResourceException e) {
-            throw new RuntimeException(e);
+        } catch (MissingResourceException | NullPointerException e) {
+            message = getMessage();
         }
         return message;
     }
@@ -0,0 +1,185 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sudoku.game.exception.DaoException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncSudokuBoardDaoTest {
+
+    @TempDir
+    Path directory;
+
+    private static SudokuBoard boardWith(int value) {
+        SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+        board.set(0, 0, value);
+        return board;
+    }
+
+    // Stores copies of saved boards; the first save or read can be held until released.
+    private static final class RecordingDao implements Dao<SudokuBoard> {
+        private final Map<String, SudokuBoard> stored = new ConcurrentHashMap<>();
+        private final List<SudokuBoard> saves = new ArrayList<>();
+        private final AtomicInteger reads = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private void hold() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public SudokuBoard read(String name) {
+            reads.incrementAndGet();
+            hold();
+            return stored.get(name).clone();
+        }
+
+        @Override
+        public void write(SudokuBoard obj, String name) {
+            hold();
+            if (failures.getAndDecrement() > 0) {
+                throw new DaoException("write failed");
+            }
+            synchronized (saves) {
+                saves.add(obj.clone());
+            }
+            stored.put(name, obj.clone());
+            obj.markClean();
+        }
+
+        @Override
+        public List<String> names() {
+            return new ArrayList<>(stored.keySet());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void roundTripThroughFileDaoTest() throws Exception {
+        String dir = directory.toString();
+        try (AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(
+                () -> new FileSudokuBoardDao(dir, FileSudokuBoardDao.Format.COMPACT))) {
+            SudokuBoard board = boardWith(4);
+            board.markSaved(dao.write(board, "game").get(5, TimeUnit.SECONDS));
+            assertFalse(board.isDirty());
+            assertEquals(boardWith(4), dao.read("game").get(5, TimeUnit.SECONDS));
+            assertEquals(List.of("game"), dao.names().get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void queuedWritesAreCoalescedTest() throws Exception {
+        RecordingDao target = new RecordingDao();
+        try (AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(() -> target, true)) {
+            CompletableFuture<SudokuBoard> first = dao.write(boardWith(1), "game");
+            assertTrue(target.started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<SudokuBoard> second = dao.write(boardWith(2), "game");
+            CompletableFuture<SudokuBoard> third = dao.write(boardWith(3), "game");
+            target.release.countDown();
+            CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(boardWith(1), boardWith(3)), target.saves);
+        assertEquals(boardWith(3), target.stored.get("game"));
+    }
+
+    @Test
+    void writesWithoutCoalescingKeepOrderTest() throws Exception {
+        RecordingDao target = new RecordingDao();
+        target.release.countDown();
+        try (AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(() -> target)) {
+            List<CompletableFuture<SudokuBoard>> writes = new ArrayList<>();
+            for (int i = 1; i <= 9; i++) {
+                writes.add(dao.write(boardWith(i), "game"));
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(9, target.saves.size());
+        assertEquals(boardWith(9), target.stored.get("game"));
+    }
+
+    @Test
+    void failedWriteKeepsChangesDirtyTest() throws Exception {
+        RecordingDao target = new RecordingDao();
+        target.release.countDown();
+        target.failures.set(1);
+        try (AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(() -> target)) {
+            SudokuBoard board = boardWith(5);
+            board.markClean();
+            board.set(4, 4, 7);
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> dao.write(board, "game").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DaoException.class, error.getCause());
+            assertTrue(board.isDirty(4, 4));
+
+            dao.write(board, "game").get(5, TimeUnit.SECONDS);
+        }
+        SudokuBoard saved = target.saves.get(0);
+        assertEquals(7, saved.get(4, 4));
+    }
+
+    @Test
+    void changesAfterTheSnapshotStayDirtyTest() throws Exception {
+        RecordingDao target = new RecordingDao();
+        try (AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(() -> target)) {
+            SudokuBoard board = boardWith(5);
+            CompletableFuture<SudokuBoard> write = dao.write(board, "game");
+            assertTrue(target.started.await(5, TimeUnit.SECONDS));
+            board.set(4, 4, 7);
+            assertTrue(board.isDirty(0, 0), "The board is untouched until the save succeeds");
+            target.release.countDown();
+
+            board.markSaved(write.get(5, TimeUnit.SECONDS));
+            assertFalse(board.isDirty(0, 0));
+            assertTrue(board.isDirty(4, 4));
+        }
+    }
+
+    @Test
+    void concurrentReadsShareOneFetchTest() throws Exception {
+        RecordingDao target = new RecordingDao();
+        target.stored.put("game", boardWith(6));
+        try (AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(() -> target, true)) {
+            CompletableFuture<SudokuBoard> first = dao.read("game");
+            assertTrue(target.started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<SudokuBoard> second = dao.read("game");
+            target.release.countDown();
+
+            SudokuBoard a = first.get(5, TimeUnit.SECONDS);
+            SudokuBoard b = second.get(5, TimeUnit.SECONDS);
+            assertEquals(boardWith(6), a);
+            assertEquals(a, b);
+            assertNotSame(a, b);
+            assertEquals(1, target.reads.get());
+        }
+    }
+
+    @Test
+    void callsAfterCloseFailTest() {
+        AsyncSudokuBoardDao dao = new AsyncSudokuBoardDao(RecordingDao::new);
+        dao.close();
+        assertThrows(ExecutionException.class, () -> dao.write(boardWith(1), "game").get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> dao.names().get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,92 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sudoku.game.SolverFixtures.*;
+
+public class BitmaskSudokuSolverTest {
+
+    @Test
+    void solveEmptyBoardTest() {
+        SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+        board.solveGame();
+        assertTrue(board.checkBoard());
+    }
+
+    @Test
+    void solveKeepsGivensTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = boardOf(PUZZLE, solver);
+        assertTrue(solver.solve(board));
+        assertEquals(SOLUTION, asString(board));
+    }
+
+    @Test
+    void solveHardPuzzleTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+        assertTrue(solver.solve(board));
+        assertEquals(HARD_SOLUTION, asString(board));
+    }
+
+    @Test
+    void solverIsReusableTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard first = boardOf(HARD_PUZZLE, solver);
+        SudokuBoard second = boardOf(PUZZLE, solver);
+        assertTrue(solver.solve(first));
+        assertTrue(solver.solve(second));
+        assertEquals(HARD_SOLUTION, asString(first));
+        assertEquals(SOLUTION, asString(second));
+    }
+
+    @Test
+    void conflictingGivensTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.set(0, 0, 5);
+        board.set(0, 8, 5);
+        assertFalse(solver.solve(board));
+        assertEquals(0, board.get(0, 1), "Board should stay untouched when no solution exists");
+    }
+
+    @Test
+    void countSolutionsUniqueTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+        assertEquals(1, solver.countSolutions(board, 2));
+        assertEquals(HARD_PUZZLE, asString(board), "Counting must not modify the board");
+    }
+
+    @Test
+    void countSolutionsStopsAtLimitTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        assertEquals(2, solver.countSolutions(board, 2));
+        assertEquals(7, solver.countSolutions(board, 7));
+        assertEquals(0, solver.countSolutions(board, 0));
+    }
+
+    @Test
+    void countSolutionsConflictTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.set(4, 4, 3);
+        board.set(5, 5, 3);
+        assertEquals(0, solver.countSolutions(board, 2));
+    }
+
+    @Test
+    void countSolutionsOnGridTest() {
+        BitmaskSudokuSolver solver = new BitmaskSudokuSolver();
+        int[] grid = new int[81];
+        for (int i = 0; i < 81; i++) {
+            grid[i] = SOLUTION.charAt(i) - '0';
+        }
+        grid[0] = 0;
+        grid[80] = 0;
+        assertEquals(1, solver.countSolutions(grid, 2));
+        assertEquals(0, grid[0], "Counting must not modify the grid");
+    }
+}
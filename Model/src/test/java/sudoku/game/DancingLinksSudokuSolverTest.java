@@ -0,0 +1,77 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sudoku.game.SolverFixtures.*;
+
+public class DancingLinksSudokuSolverTest {
+
+    @Test
+    void solveGameThroughBoardTest() {
+        SudokuBoard board = boardOf(HARD_PUZZLE, new DancingLinksSudokuSolver());
+        board.solveGame();
+        assertEquals(HARD_SOLUTION, asString(board));
+    }
+
+    @Test
+    void solveSeventeenCluesTest() {
+        SudokuSolver solver = new DancingLinksSudokuSolver();
+        SudokuBoard board = boardOf(SEVENTEEN_CLUES, solver);
+        assertTrue(solver.solve(board));
+        assertTrue(board.checkBoard());
+        for (int i = 0; i < 81; i++) {
+            int given = SEVENTEEN_CLUES.charAt(i) - '0';
+            if (given != 0) {
+                assertEquals(given, board.get(i / 9, i % 9), "Givens must not change");
+            }
+        }
+    }
+
+    @Test
+    void solverIsReusableTest() {
+        SudokuSolver solver = new DancingLinksSudokuSolver();
+        SudokuBoard empty = new SudokuBoard(solver);
+        SudokuBoard hard = boardOf(HARD_PUZZLE, solver);
+        assertTrue(solver.solve(empty));
+        assertTrue(solver.solve(hard));
+        assertTrue(empty.checkBoard());
+        assertEquals(HARD_SOLUTION, asString(hard));
+    }
+
+    @Test
+    void conflictingGivensTest() {
+        SudokuSolver solver = new DancingLinksSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.set(0, 0, 5);
+        board.set(8, 0, 5);
+        assertFalse(solver.solve(board));
+        assertEquals(0, board.get(0, 1), "Board should stay untouched when no solution exists");
+    }
+
+    @Test
+    void countSolutionsUniqueTest() {
+        SudokuSolver solver = new DancingLinksSudokuSolver();
+        SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+        assertEquals(1, solver.countSolutions(board, 2));
+        assertEquals(HARD_PUZZLE, asString(board), "Counting must not modify the board");
+    }
+
+    @Test
+    void countSolutionsStopsAtLimitTest() {
+        SudokuSolver solver = new DancingLinksSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        assertEquals(2, solver.countSolutions(board, 2));
+        assertEquals(7, solver.countSolutions(board, 7));
+        assertEquals(0, solver.countSolutions(board, 0));
+    }
+
+    @Test
+    void countSolutionsConflictTest() {
+        SudokuSolver solver = new DancingLinksSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.set(4, 4, 3);
+        board.set(5, 5, 3);
+        assertEquals(0, solver.countSolutions(board, 2));
+    }
+}
@@ -10,6 +10,7 @@ import sudoku.game.exception.SudokuNullPointerException;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,7 +19,7 @@ public class FileSudokuBoardDaoTest {
     @AfterEach
     public void cleanUp() throws IOException {
         File directory = new File(".");
-        File[] files = directory.listFiles((dir, name) -> name.endsWith(".ser"));
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".ser") || name.endsWith(".sdk"));
         if (files != null) {
             for (File file : files) {
                 file.delete();
@@ -102,4 +103,80 @@ public class FileSudokuBoardDaoTest {
             testDirectory.delete();
         }
     }
+
+    @Test
+    void compactFormatTest() {
+        try (FileSudokuBoardDao dao = new FileSudokuBoardDao(".", FileSudokuBoardDao.Format.COMPACT)) {
+            SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+            board.set(0, 0, 5);
+            board.set(4, 4, 7);
+            board.markGivens();
+            board.set(8, 8, 1);
+
+            dao.write(board, "compactBoard");
+
+            assertEquals(SudokuBoardCodec.ENCODED_LENGTH, new File("compactBoard.sdk").length());
+            SudokuBoard readBoard = dao.read("compactBoard");
+            assertEquals(board, readBoard);
+            assertTrue(readBoard.isGiven(4, 4));
+            assertFalse(readBoard.isGiven(8, 8));
+            assertEquals(List.of("compactBoard"), dao.names());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void compactFormatCorruptedFileTest() throws IOException {
+        try (FileSudokuBoardDao dao = new FileSudokuBoardDao(".", FileSudokuBoardDao.Format.COMPACT)) {
+            FileUtils.writeByteArrayToFile(new File("broken.sdk"), new byte[] {1, 2, 3});
+            assertThrows(SudokuFileReadException.class, () -> dao.read("broken"));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void namesWithPrefixTest() {
+        try (FileSudokuBoardDao dao = new FileSudokuBoardDao(".")) {
+            SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+            dao.write(board, "easyGame");
+            assertEquals(List.of("easyGame"), dao.names("easy"));
+
+            dao.write(board, "easyGame2");
+            dao.write(board, "hardGame");
+            assertEquals(List.of("easyGame", "easyGame2"), dao.names("easy"));
+            assertEquals(List.of("hardGame"), dao.names("hard"));
+            assertTrue(dao.names("medium").isEmpty());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void namesFollowDirectoryChangesTest() throws Exception {
+        File directory = new File("watchedSaves");
+        try (FileSudokuBoardDao dao = new FileSudokuBoardDao(directory.getPath());
+             FileSudokuBoardDao other = new FileSudokuBoardDao(directory.getPath())) {
+            assertTrue(dao.names().isEmpty());
+
+            other.write(new SudokuBoard(new BacktrackingSudokuSolver()), "external");
+            assertTrue(waitFor(() -> dao.names().contains("external")), "Created file should be picked up");
+
+            assertTrue(new File(directory, "external.ser").delete());
+            assertTrue(waitFor(() -> dao.names().isEmpty()), "Deleted file should be dropped");
+        } finally {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
 }
@@ -0,0 +1,330 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcConnectionPoolTest {
+    private static final String STUB_URL = "jdbc:sudoku-stub://pool/";
+
+    private final StubDriver driver = new StubDriver();
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void registerDriver() throws SQLException {
+        DriverManager.registerDriver(driver);
+    }
+
+    @AfterEach
+    void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(driver);
+    }
+
+    private JdbcConnectionPool stubPool(int maxSize) {
+        return new JdbcConnectionPool(STUB_URL, "sudoku", "u", "p", maxSize, clock::get);
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JdbcConnectionPool("jdbc:postgresql://localhost:1/", "sudoku", "u", "p", 0));
+    }
+
+    @Test
+    void closedPoolRefusesConnections() {
+        JdbcConnectionPool pool = new JdbcConnectionPool("jdbc:postgresql://localhost:1/", "sudoku", "u", "p", 1);
+        pool.close();
+        assertTrue(pool.isClosed());
+        assertThrows(SQLException.class, pool::acquire);
+    }
+
+    @Test
+    void unreachableServerFailsAndKeepsPoolUsable() {
+        JdbcConnectionPool pool = new JdbcConnectionPool("jdbc:postgresql://localhost:1/", "sudoku", "u", "p", 1);
+        assertThrows(SQLException.class, pool::acquire);
+        assertThrows(SQLException.class, pool::acquire);
+        assertFalse(pool.isClosed());
+        pool.close();
+    }
+
+    @Test
+    void releaseIgnoresNull() {
+        JdbcConnectionPool pool = new JdbcConnectionPool("jdbc:postgresql://localhost:1/", "sudoku", "u", "p", 1);
+        assertDoesNotThrow(() -> pool.release(null));
+        pool.close();
+    }
+
+    @Test
+    void sharedPoolIsReused() {
+        assertSame(JdbcConnectionPool.shared(), JdbcConnectionPool.shared());
+    }
+
+    @Test
+    void releasedConnectionIsReused() throws SQLException {
+        try (JdbcConnectionPool pool = stubPool(2)) {
+            Connection first = pool.acquire();
+            assertFalse(first.getAutoCommit());
+            pool.release(first);
+            Connection second = pool.acquire();
+            assertSame(first, second);
+            pool.release(second);
+            assertEquals(1, driver.pooledConnections());
+        }
+    }
+
+    @Test
+    void acquireWaitsAtMaxSize() throws Exception {
+        try (JdbcConnectionPool pool = stubPool(1)) {
+            Connection held = pool.acquire();
+            CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pool.acquire();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+
+            pool.release(held);
+            assertSame(held, waiting.get(5, TimeUnit.SECONDS));
+            assertEquals(1, driver.pooledConnections());
+            pool.release(held);
+        }
+    }
+
+    @Test
+    void idleConnectionIsValidatedAfterTimeout() throws SQLException {
+        try (JdbcConnectionPool pool = stubPool(1)) {
+            Connection connection = pool.acquire();
+            pool.release(connection);
+            clock.addAndGet(JdbcConnectionPool.VALIDATE_AFTER_MILLIS - 1);
+            assertSame(connection, pool.acquire());
+            assertEquals(0, driver.validations.get());
+            pool.release(connection);
+
+            clock.addAndGet(JdbcConnectionPool.VALIDATE_AFTER_MILLIS);
+            driver.valid = false;
+            Connection replacement = pool.acquire();
+            assertEquals(1, driver.validations.get());
+            assertNotSame(connection, replacement);
+            assertTrue(connection.isClosed());
+            pool.release(replacement);
+        }
+    }
+
+    @Test
+    void brokenConnectionIsDroppedOnRelease() throws SQLException {
+        try (JdbcConnectionPool pool = stubPool(1)) {
+            Connection broken = pool.acquire();
+            driver.failRollback = true;
+            pool.release(broken);
+            driver.failRollback = false;
+            assertTrue(broken.isClosed());
+
+            Connection closed = pool.acquire();
+            assertNotSame(broken, closed);
+            closed.close();
+            pool.release(closed);
+
+            Connection fresh = pool.acquire();
+            assertNotSame(closed, fresh);
+            assertEquals(3, driver.pooledConnections());
+            pool.release(fresh);
+        }
+    }
+
+    @Test
+    void schemaIsCreatedOnce() throws Exception {
+        try (JdbcConnectionPool pool = stubPool(4)) {
+            List<CompletableFuture<Void>> clients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                clients.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        pool.release(pool.acquire());
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            for (CompletableFuture<Void> client : clients) {
+                client.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(1, driver.serverConnections.get());
+            assertEquals(1, driver.createDatabase.get());
+        }
+    }
+
+    @Test
+    void statementsAreCachedPerConnection() throws SQLException {
+        try (JdbcConnectionPool pool = stubPool(2)) {
+            Connection first = pool.acquire();
+            Connection second = pool.acquire();
+            int bootstrapStatements = driver.prepared.get();
+            PreparedStatement statement = pool.prepare(first, "SELECT 1");
+            assertSame(statement, pool.prepare(first, "SELECT 1"));
+            assertNotSame(statement, pool.prepare(first, "SELECT 2"));
+            assertNotSame(statement, pool.prepare(second, "SELECT 1"));
+
+            statement.close();
+            PreparedStatement reprepared = pool.prepare(first, "SELECT 1");
+            assertNotSame(statement, reprepared);
+            pool.release(first);
+            assertSame(reprepared, pool.prepare(pool.acquire(), "SELECT 1"));
+            assertEquals(bootstrapStatements + 4, driver.prepared.get());
+            pool.release(first);
+            pool.release(second);
+        }
+    }
+
+    // Hands out proxy connections for STUB_URL; the bare server URL is only used to create the database.
+    private static final class StubDriver implements Driver {
+        private final AtomicInteger serverConnections = new AtomicInteger();
+        private final AtomicInteger databaseConnections = new AtomicInteger();
+        private final AtomicInteger createDatabase = new AtomicInteger();
+        private final AtomicInteger validations = new AtomicInteger();
+        private final AtomicInteger prepared = new AtomicInteger();
+        private volatile boolean valid = true;
+        private volatile boolean failRollback;
+
+        // The schema connection opened by bootstrap is not pooled.
+        private int pooledConnections() {
+            return databaseConnections.get() - serverConnections.get();
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            if (url.equals(STUB_URL)) {
+                serverConnections.incrementAndGet();
+            } else {
+                databaseConnections.incrementAndGet();
+            }
+            return connection();
+        }
+
+        private Connection connection() {
+            boolean[] closed = {false};
+            boolean[] autoCommit = {true};
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            closed[0] = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed[0];
+                        case "isValid" -> {
+                            validations.incrementAndGet();
+                            yield valid && !closed[0];
+                        }
+                        case "getAutoCommit" -> autoCommit[0];
+                        case "setAutoCommit" -> {
+                            autoCommit[0] = (Boolean) args[0];
+                            yield null;
+                        }
+                        case "rollback" -> {
+                            if (failRollback) {
+                                throw new SQLException("Connection reset");
+                            }
+                            yield null;
+                        }
+                        case "createStatement" -> statement(Statement.class);
+                        case "prepareStatement" -> {
+                            prepared.incrementAndGet();
+                            yield statement(PreparedStatement.class);
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+
+        // Statements report an existing database only after CREATE DATABASE has run.
+        private <T extends Statement> T statement(Class<T> type) {
+            boolean[] closed = {false};
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            closed[0] = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed[0];
+                        case "executeUpdate" -> {
+                            if (((String) args[0]).startsWith("CREATE DATABASE")) {
+                                createDatabase.incrementAndGet();
+                            }
+                            yield 0;
+                        }
+                        case "executeQuery" -> resultSet(createDatabase.get() > 0);
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    }));
+        }
+
+        private static ResultSet resultSet(boolean hasRow) {
+            boolean[] consumed = {!hasRow};
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "next" -> {
+                            boolean next = !consumed[0];
+                            consumed[0] = true;
+                            yield next;
+                        }
+                        default -> null;
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(STUB_URL);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+}
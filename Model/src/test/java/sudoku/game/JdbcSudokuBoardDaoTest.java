@@ -6,7 +6,9 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 class JdbcSudokuBoardDaoTest {
@@ -32,6 +34,7 @@ class JdbcSudokuBoardDaoTest {
              Statement stmt = connection.createStatement()) {
             stmt.executeUpdate("DROP TABLE IF EXISTS SudokuFields");
             stmt.executeUpdate("DROP TABLE IF EXISTS SudokuBoards");
+            stmt.executeUpdate("DROP TABLE IF EXISTS SudokuPackedBoards");
 
             stmt.executeUpdate("CREATE TABLE SudokuBoards (\n" +
                     "id SERIAL PRIMARY KEY,\n" +
@@ -44,6 +47,12 @@ class JdbcSudokuBoardDaoTest {
                     "value INT NOT NULL,\n" +
                     "FOREIGN KEY (board_id) REFERENCES SudokuBoards(id)\n" +
                     ")");
+            stmt.executeUpdate("CREATE TABLE SudokuPackedBoards (\n" +
+                    "name VARCHAR(255) PRIMARY KEY,\n" +
+                    "cells CHAR(81) NOT NULL,\n" +
+                    "givens_low BIGINT NOT NULL DEFAULT 0,\n" +
+                    "givens_high BIGINT NOT NULL DEFAULT 0\n" +
+                    ")");
         }
     }
 
@@ -100,6 +109,108 @@ class JdbcSudokuBoardDaoTest {
         }
     }
 
+    @Test
+    void testPackedSaveAndLoadBoard() throws SQLException {
+        testBoard.setToDefault(0, 0);
+        testBoard.setGiven(8, 8, true);
+        try (JdbcSudokuBoardDao packed = new JdbcSudokuBoardDao(JdbcConnectionPool.shared(),
+                JdbcSudokuBoardDao.Schema.PACKED)) {
+            packed.write(testBoard, "PackedBoard");
+
+            SudokuBoard loadedBoard = packed.read("PackedBoard");
+            assertEquals(testBoard, loadedBoard);
+            assertTrue(loadedBoard.isGiven(8, 8));
+            assertFalse(loadedBoard.isGiven(0, 1));
+            assertEquals(List.of("PackedBoard"), packed.names());
+            assertThrows(DaoException.class, () -> packed.write(testBoard, "PackedBoard"));
+        }
+    }
+
+    @Test
+    void testMigrateToPacked() throws SQLException {
+        dao.write(testBoard, "LegacyBoard");
+        try (JdbcSudokuBoardDao packed = new JdbcSudokuBoardDao(JdbcConnectionPool.shared(),
+                JdbcSudokuBoardDao.Schema.PACKED)) {
+            assertEquals(1, packed.migrateToPacked());
+            assertEquals(0, packed.migrateToPacked());
+            assertEquals(testBoard, packed.read("LegacyBoard"));
+        }
+    }
+
+    @Test
+    void testWriteAllAndReadAll() throws SQLException {
+        Map<String, SudokuBoard> boards = new LinkedHashMap<>();
+        for (int i = 0; i < JdbcSudokuBoardDao.BULK_CHUNK + 5; i++) {
+            SudokuBoard board = testBoard.clone();
+            board.setToDefault(i % 9, i / 9 % 9);
+            boards.put("Bulk" + i, board);
+        }
+        for (JdbcSudokuBoardDao.Schema schema : JdbcSudokuBoardDao.Schema.values()) {
+            try (JdbcSudokuBoardDao bulk = new JdbcSudokuBoardDao(JdbcConnectionPool.shared(), schema)) {
+                bulk.writeAll(boards);
+
+                Map<String, SudokuBoard> loaded = bulk.readAll(List.of("Bulk0", "Bulk2004", "Missing"));
+                assertEquals(2, loaded.size());
+                assertEquals(boards.get("Bulk0"), loaded.get("Bulk0"));
+                assertEquals(boards.get("Bulk2004"), loaded.get("Bulk2004"));
+                assertEquals(boards.size(), bulk.names().size());
+            }
+        }
+    }
+
+    @Test
+    void testWriteAllIsAtomic() {
+        dao.write(testBoard, "Taken");
+        Map<String, SudokuBoard> boards = new LinkedHashMap<>();
+        boards.put("Fresh", testBoard);
+        boards.put("Taken", testBoard);
+        assertThrows(DaoException.class, () -> dao.writeAll(boards));
+        assertFalse(dao.names().contains("Fresh"));
+    }
+
+    @Test
+    void testSaveUpdatesExistingBoard() {
+        dao.save(testBoard, "Autosave");
+        assertFalse(testBoard.isDirty());
+
+        testBoard.setToDefault(3, 4);
+        dao.save(testBoard, "Autosave");
+        assertEquals(testBoard, dao.read("Autosave"));
+
+        SudokuBoard other = new SudokuBoard(new BacktrackingSudokuSolver());
+        dao.save(other, "Autosave");
+        assertEquals(other, dao.read("Autosave"));
+        assertEquals(1, dao.names().size());
+    }
+
+    @Test
+    void testSaveToAnotherExistingNameRewritesEveryCell() {
+        SudokuBoard other = new SudokuBoard(new BacktrackingSudokuSolver());
+        other.solveGame();
+        dao.save(other, "Second");
+        dao.save(testBoard, "First");
+
+        dao.save(testBoard, "Second");
+        assertEquals(testBoard, dao.read("Second"));
+
+        SudokuBoard loaded = dao.read("First");
+        loaded.setToDefault(0, 0);
+        dao.save(loaded, "Second");
+        assertEquals(loaded, dao.read("Second"));
+        assertNotEquals(loaded, dao.read("First"));
+    }
+
+    @Test
+    void testPackedSaveUpdatesExistingBoard() throws SQLException {
+        try (JdbcSudokuBoardDao packed = new JdbcSudokuBoardDao(JdbcConnectionPool.shared(),
+                JdbcSudokuBoardDao.Schema.PACKED)) {
+            packed.save(testBoard, "Autosave");
+            testBoard.setToDefault(3, 4);
+            packed.save(testBoard, "Autosave");
+            assertEquals(testBoard, packed.read("Autosave"));
+        }
+    }
+
     @Test
     void testRollbackOnError() {
         String boardName = "RollbackBoard";
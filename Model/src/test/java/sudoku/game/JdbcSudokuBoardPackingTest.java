@@ -0,0 +1,37 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcSudokuBoardPackingTest {
+
+    @Test
+    void packedBoardRoundTrips() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        board.solveGame();
+        board.setToDefault(4, 4);
+        board.setGiven(0, 0, true);
+        board.setGiven(7, 1, true);
+        board.setGiven(8, 8, true);
+
+        String cells = JdbcSudokuBoardDao.cellsOf(board);
+        long[] givens = JdbcSudokuBoardDao.givensOf(board);
+        assertEquals(81, cells.length());
+        assertEquals('0', cells.charAt(40));
+
+        SudokuBoard copy = JdbcSudokuBoardDao.boardOf(cells, givens[0], givens[1]);
+        assertEquals(board, copy);
+        assertTrue(copy.isGiven(0, 0));
+        assertTrue(copy.isGiven(7, 1));
+        assertTrue(copy.isGiven(8, 8));
+        assertFalse(copy.isGiven(4, 4));
+    }
+
+    @Test
+    void malformedCellsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JdbcSudokuBoardDao.boardOf("123", 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> JdbcSudokuBoardDao.boardOf("x".repeat(81), 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> JdbcSudokuBoardDao.boardOf(null, 0, 0));
+    }
+}
@@ -0,0 +1,180 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sudoku.game.exception.DaoException;
+import sudoku.game.exception.SudokuFileReadException;
+import sudoku.game.exception.SudokuNullPointerException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedSudokuBoardDaoTest {
+
+    @TempDir
+    Path directory;
+
+    private static SudokuBoard boardWith(int value) {
+        SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+        board.set(0, 0, value);
+        board.markGivens();
+        board.set(8, 8, value);
+        return board;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void writeReadTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString())) {
+            dao.write(boardWith(3), "first");
+            dao.write(boardWith(4), "second");
+
+            SudokuBoard read = dao.read("first");
+            assertEquals(boardWith(3), read);
+            assertTrue(read.isGiven(0, 0));
+            assertFalse(read.isGiven(8, 8));
+            assertEquals(List.of("first", "second"), dao.names().stream().sorted().toList());
+        }
+    }
+
+    @Test
+    void overwriteKeepsNewestTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString())) {
+            dao.write(boardWith(1), "game");
+            dao.write(boardWith(2), "game");
+            assertEquals(boardWith(2), dao.read("game"));
+            assertEquals(List.of("game"), dao.names());
+        }
+    }
+
+    @Test
+    void indexIsRebuiltOnOpenTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString(),
+                BitmaskSudokuSolver::new, 4)) {
+            for (int i = 1; i <= 9; i++) {
+                dao.write(boardWith(i), "game" + i);
+            }
+            dao.write(boardWith(9), "game1");
+        }
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString(),
+                BitmaskSudokuSolver::new, 4)) {
+            assertEquals(9, dao.names().size());
+            assertEquals(boardWith(9), dao.read("game1"));
+            assertEquals(boardWith(5), dao.read("game5"));
+        }
+    }
+
+    @Test
+    void tornAppendIsIgnoredTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString())) {
+            dao.write(boardWith(1), "kept");
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("boards-0.seg").toFile(), "rw")) {
+            file.seek(MappedSudokuBoardDao.RECORD_SIZE + 1);
+            file.write(new byte[] {4, 'l', 'o', 's', 't'});
+        }
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString())) {
+            assertEquals(List.of("kept"), dao.names());
+            dao.write(boardWith(2), "next");
+            assertEquals(boardWith(2), dao.read("next"));
+        }
+    }
+
+    @Test
+    void compactRemovesSupersededRecordsTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString(),
+                BitmaskSudokuSolver::new, 4)) {
+            dao.write(boardWith(7), "other");
+            for (int i = 0; i < 12; i++) {
+                dao.write(boardWith(i % 9 + 1), "game");
+            }
+            dao.compact();
+            assertEquals(1, segmentCount());
+            assertEquals(boardWith(3), dao.read("game"));
+            assertEquals(boardWith(7), dao.read("other"));
+        }
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString(),
+                BitmaskSudokuSolver::new, 4)) {
+            assertEquals(boardWith(3), dao.read("game"));
+            assertEquals(boardWith(7), dao.read("other"));
+        }
+    }
+
+    @Test
+    void backgroundCompactionTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString(),
+                BitmaskSudokuSolver::new, 4)) {
+            for (int i = 0; i < 200; i++) {
+                dao.write(boardWith(i % 9 + 1), "game");
+            }
+        }
+        assertTrue(segmentCount() < 50, "Superseded segments should have been compacted");
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString())) {
+            assertEquals(boardWith(200 % 9), dao.read("game"));
+        }
+    }
+
+    @Test
+    void writesDuringCompactionAreKeptTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString(),
+                BitmaskSudokuSolver::new, 4)) {
+            for (int i = 0; i < 40; i++) {
+                dao.write(boardWith(i % 9 + 1), "game" + i % 8);
+            }
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    dao.write(boardWith(i % 9 + 1), "game" + i % 8);
+                }
+            });
+            writer.start();
+            dao.compact();
+            writer.join();
+            for (int i = 192; i < 200; i++) {
+                assertEquals(boardWith(i % 9 + 1), dao.read("game" + i % 8));
+            }
+            assertEquals(8, dao.names().size());
+        }
+    }
+
+    @Test
+    void callsAfterCloseThrowTest() throws Exception {
+        MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString());
+        dao.write(boardWith(1), "game");
+        dao.close();
+        dao.close();
+
+        assertThrows(DaoException.class, () -> dao.read("game"));
+        assertThrows(DaoException.class, () -> dao.write(boardWith(2), "game"));
+        assertThrows(DaoException.class, dao::names);
+        assertThrows(DaoException.class, dao::compact);
+    }
+
+    @Test
+    void invalidArgumentsTest() throws Exception {
+        try (MappedSudokuBoardDao dao = new MappedSudokuBoardDao(directory.toString())) {
+            assertThrows(SudokuNullPointerException.class, () -> dao.write(null, "name"));
+            assertThrows(SudokuNullPointerException.class, () -> dao.write(boardWith(1), ""));
+            assertThrows(DaoException.class, () -> dao.write(boardWith(1), "x".repeat(65)));
+            assertThrows(SudokuFileReadException.class, () -> dao.read("missing"));
+        }
+    }
+
+    @Test
+    void factoryTest() throws Exception {
+        try (Dao<SudokuBoard> dao = SudokuBoardDaoFactory.getMappedDao(directory.toString())) {
+            dao.write(boardWith(5), "board");
+            assertEquals(boardWith(5), dao.read("board"));
+        }
+    }
+}
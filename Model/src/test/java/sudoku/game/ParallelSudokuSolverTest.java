@@ -0,0 +1,54 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sudoku.game.SolverFixtures.*;
+
+public class ParallelSudokuSolverTest {
+
+    @Test
+    void solveHardPuzzleTest() {
+        SudokuBoard board = boardOf(HARD_PUZZLE, new ParallelSudokuSolver());
+        board.solveGame();
+        assertEquals(HARD_SOLUTION, asString(board));
+    }
+
+    @Test
+    void solveWithOwnPoolTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SudokuSolver solver = new ParallelSudokuSolver(pool, 2);
+            SudokuBoard board = boardOf(SEVENTEEN_CLUES, solver);
+            assertTrue(solver.solve(board));
+            assertTrue(board.checkBoard());
+
+            SudokuBoard empty = new SudokuBoard(solver);
+            assertTrue(solver.solve(empty));
+            assertTrue(empty.checkBoard());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void countSolutionsTest() {
+        SudokuSolver solver = new ParallelSudokuSolver();
+        assertEquals(1, solver.countSolutions(boardOf(SEVENTEEN_CLUES, solver), 2));
+        assertEquals(1, solver.countSolutions(boardOf(HARD_PUZZLE, solver), 2));
+        assertEquals(5, solver.countSolutions(new SudokuBoard(solver), 5));
+        assertEquals(0, solver.countSolutions(new SudokuBoard(solver), 0));
+    }
+
+    @Test
+    void conflictingGivensTest() {
+        SudokuSolver solver = new ParallelSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.set(0, 0, 5);
+        board.set(0, 8, 5);
+        assertFalse(solver.solve(board));
+        assertEquals(0, solver.countSolutions(board, 2));
+    }
+}
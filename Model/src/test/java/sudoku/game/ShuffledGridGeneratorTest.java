@@ -0,0 +1,50 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShuffledGridGeneratorTest {
+
+    @Test
+    void fillProducesSolvedGridTest() {
+        ShuffledGridGenerator generator = new ShuffledGridGenerator();
+        for (int i = 0; i < 100; i++) {
+            SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+            generator.fill(board);
+            assertTrue(board.checkBoard());
+        }
+    }
+
+    @Test
+    void fillOverwritesExistingValuesTest() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        board.set(0, 0, 1);
+        board.set(0, 1, 1);
+        new ShuffledGridGenerator().fill(board);
+        assertTrue(board.checkBoard());
+    }
+
+    @Test
+    void fillIsRandomTest() {
+        ShuffledGridGenerator generator = new ShuffledGridGenerator();
+        SudokuBoard first = new SudokuBoard(new BacktrackingSudokuSolver());
+        SudokuBoard second = new SudokuBoard(new BacktrackingSudokuSolver());
+        generator.fill(first);
+        generator.fill(second);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void sameSeedSameGridTest() {
+        SudokuBoard first = new SudokuBoard(new BacktrackingSudokuSolver());
+        SudokuBoard second = new SudokuBoard(new BacktrackingSudokuSolver());
+        new ShuffledGridGenerator(42L).fill(first);
+        new ShuffledGridGenerator(42L).fill(second);
+        assertTrue(first.checkBoard());
+        assertEquals(first, second);
+
+        new ShuffledGridGenerator(43L).fill(second);
+        assertNotEquals(first, second);
+    }
+}
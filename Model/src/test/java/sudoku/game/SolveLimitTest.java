@@ -0,0 +1,85 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sudoku.game.SolverFixtures.*;
+
+public class SolveLimitTest {
+    private static final String CONFLICTING =
+            "880000000003600000070090200050007000000045700000100030001000068008500010090000400";
+
+    private static List<SudokuSolver> solvers() {
+        return List.of(new BacktrackingSudokuSolver(), new BitmaskSudokuSolver(),
+                new DancingLinksSudokuSolver(), new ConstraintPropagationSudokuSolver(),
+                new ParallelSudokuSolver());
+    }
+
+    @Test
+    void nodeBudgetExceededTest() {
+        for (SudokuSolver solver : solvers()) {
+            SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+            assertEquals(SolveResult.BUDGET_EXCEEDED, board.solveGame(SolveLimit.ofNodes(5)),
+                    solver.getClass().getSimpleName());
+            assertEquals(HARD_PUZZLE, asString(board), "A stopped solve must not modify the board");
+        }
+    }
+
+    @Test
+    void solvedWithinBudgetTest() {
+        for (SudokuSolver solver : solvers()) {
+            if (solver instanceof BacktrackingSudokuSolver) {
+                continue;
+            }
+            SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+            assertEquals(SolveResult.SOLVED, board.solveGame(SolveLimit.of(Duration.ofSeconds(30), 1_000_000)),
+                    solver.getClass().getSimpleName());
+            assertEquals(HARD_SOLUTION, asString(board));
+        }
+    }
+
+    @Test
+    void unsolvableTest() {
+        for (SudokuSolver solver : solvers()) {
+            SudokuBoard board = boardOf(CONFLICTING, solver);
+            assertEquals(SolveResult.UNSOLVABLE, solver.solve(board, SolveLimit.NONE),
+                    solver.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void deadlineExceededTest() {
+        SudokuSolver solver = new BacktrackingSudokuSolver();
+        SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+        long start = System.nanoTime();
+        assertEquals(SolveResult.BUDGET_EXCEEDED, solver.solve(board, SolveLimit.within(Duration.ofMillis(20))));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        assertEquals(HARD_PUZZLE, asString(board));
+    }
+
+    @Test
+    void interruptStopsSearchTest() {
+        SudokuSolver solver = new BacktrackingSudokuSolver();
+        SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(SolveResult.BUDGET_EXCEEDED, solver.solve(board, SolveLimit.NONE));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void solverIsReusableAfterStopTest() {
+        for (SudokuSolver solver : solvers()) {
+            SudokuBoard board = boardOf(HARD_PUZZLE, solver);
+            assertEquals(SolveResult.BUDGET_EXCEEDED, solver.solve(board, SolveLimit.ofNodes(1)));
+            SudokuBoard empty = new SudokuBoard(solver);
+            assertTrue(solver.solve(empty), solver.getClass().getSimpleName());
+            assertTrue(empty.checkBoard());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package sudoku.game;
+
+// Puzzles and board helpers shared by the solver tests.
+final class SolverFixtures {
+    static final String PUZZLE =
+            "530070000600195000098000060800060003400803001700020006060000280000419005000080079";
+    static final String SOLUTION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    static final String HARD_PUZZLE =
+            "800000000003600000070090200050007000000045700000100030001000068008500010090000400";
+    static final String HARD_SOLUTION =
+            "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+    static final String SEVENTEEN_CLUES =
+            "000000010400000000020000000000050407008000300001090000300400200050100000000806000";
+
+    private SolverFixtures() {
+    }
+
+    static SudokuBoard boardOf(String puzzle, SudokuSolver solver) {
+        SudokuBoard board = new SudokuBoard(solver);
+        for (int i = 0; i < 81; i++) {
+            int value = puzzle.charAt(i) - '0';
+            if (value != 0) {
+                board.set(i / 9, i % 9, value);
+            }
+        }
+        return board;
+    }
+
+    static String asString(SudokuBoard board) {
+        StringBuilder builder = new StringBuilder();
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                builder.append(board.get(row, col));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sudoku.game.SolverFixtures.*;
+
+public class SolverStatisticsTest {
+
+    private static List<SudokuSolver> solvers() {
+        return List.of(new BitmaskSudokuSolver(), new DancingLinksSudokuSolver(),
+                new ConstraintPropagationSudokuSolver(), new ParallelSudokuSolver());
+    }
+
+    @Test
+    void disabledByDefaultTest() {
+        for (SudokuSolver solver : solvers()) {
+            assertTrue(solver.solve(boardOf(HARD_PUZZLE, solver)));
+            assertNull(solver.getStatistics(), solver.getClass().getSimpleName());
+        }
+        SudokuSolver backtracking = new BacktrackingSudokuSolver();
+        backtracking.solve(new SudokuBoard(backtracking));
+        assertNull(backtracking.getStatistics());
+    }
+
+    @Test
+    void hardPuzzleStatisticsTest() {
+        for (SudokuSolver solver : solvers()) {
+            String name = solver.getClass().getSimpleName();
+            solver.setStatisticsEnabled(true);
+            assertTrue(solver.solve(boardOf(HARD_PUZZLE, solver)));
+            SolverStatistics statistics = solver.getStatistics();
+            assertNotNull(statistics, name);
+            assertTrue(statistics.getNodes() > 0, name);
+            assertTrue(statistics.getBacktracks() > 0, name);
+            assertTrue(statistics.getMaxDepth() > 0, name);
+            assertTrue(statistics.getMaxDepth() <= 81, name);
+            assertTrue(statistics.getElapsedNanos() > 0, name);
+        }
+    }
+
+    @Test
+    void propagationsTest() {
+        SudokuSolver solver = new ConstraintPropagationSudokuSolver();
+        solver.setStatisticsEnabled(true);
+        solver.solve(boardOf(HARD_PUZZLE, solver));
+        assertTrue(solver.getStatistics().getPropagations() > 0);
+
+        SudokuSolver bitmask = new BitmaskSudokuSolver();
+        bitmask.setStatisticsEnabled(true);
+        bitmask.solve(boardOf(HARD_PUZZLE, bitmask));
+        assertEquals(0, bitmask.getStatistics().getPropagations());
+    }
+
+    @Test
+    void backtrackingStatisticsTest() {
+        SudokuSolver solver = new BacktrackingSudokuSolver();
+        solver.setStatisticsEnabled(true);
+        SudokuBoard board = new SudokuBoard(solver);
+        assertTrue(solver.solve(board));
+        SolverStatistics statistics = solver.getStatistics();
+        assertEquals(81, statistics.getMaxDepth());
+        assertTrue(statistics.getNodes() >= 82);
+
+        assertEquals(1, solver.countSolutions(board, 2));
+        assertNotSame(statistics, solver.getStatistics(), "Every solve gets its own statistics");
+    }
+
+    @Test
+    void countSolutionsStatisticsTest() {
+        for (SudokuSolver solver : solvers()) {
+            solver.setStatisticsEnabled(true);
+            assertEquals(1, solver.countSolutions(boardOf(HARD_PUZZLE, solver), 2));
+            assertTrue(solver.getStatistics().getNodes() > 0, solver.getClass().getSimpleName());
+            solver.setStatisticsEnabled(false);
+            assertNull(solver.getStatistics());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sudoku.game.SolverFixtures.*;
+
+public class SudokuBatchSolverTest {
+    // The line format also accepts '.' for empty cells.
+    private static final String DOTTED = PUZZLE.replace('0', '.');
+    private static final String CONFLICTING =
+            "550070000600195000098000060800060003400803001700020006060000280000419005000080079";
+
+    private static List<String> run(SudokuBatchSolver solver, String input,
+                                    SudokuBatchSolver.Summary[] summary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary[0] = solver.solve(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out);
+        return out.toString(StandardCharsets.US_ASCII).lines().toList();
+    }
+
+    @Test
+    void resultsTest() throws IOException {
+        String input = HARD_PUZZLE + "\n\n" + DOTTED + "\n" + CONFLICTING + "\nabc\n";
+        SudokuBatchSolver.Summary[] summary = new SudokuBatchSolver.Summary[1];
+        try (SudokuBatchSolver solver = new SudokuBatchSolver(2)) {
+            List<String> lines = run(solver, input, summary);
+            assertEquals(List.of(
+                    HARD_PUZZLE + "," + HARD_SOLUTION,
+                    DOTTED + "," + SOLUTION,
+                    CONFLICTING + "," + SudokuBatchSolver.UNSOLVABLE,
+                    "abc," + SudokuBatchSolver.INVALID), lines);
+        }
+        assertEquals(new SudokuBatchSolver.Summary(2, 1, 1), summary[0]);
+    }
+
+    @Test
+    void keepsInputOrderWithSmallWindowTest() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            input.append(i % 3 == 0 ? HARD_PUZZLE : DOTTED).append('\n');
+        }
+        SudokuBatchSolver.Summary[] summary = new SudokuBatchSolver.Summary[1];
+        try (SudokuBatchSolver solver = new SudokuBatchSolver(4, 3)) {
+            List<String> lines = run(solver, input.toString(), summary);
+            assertEquals(200, lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String expected = i % 3 == 0 ? HARD_PUZZLE + "," + HARD_SOLUTION : DOTTED + "," + SOLUTION;
+                assertEquals(expected, lines.get(i));
+            }
+        }
+        assertEquals(200, summary[0].solved());
+    }
+
+    @Test
+    void failedOutputCancelsPendingPuzzlesTest() throws IOException {
+        String input = (HARD_PUZZLE + "\n").repeat(500);
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        SudokuBatchSolver.Summary[] summary = new SudokuBatchSolver.Summary[1];
+        try (SudokuBatchSolver solver = new SudokuBatchSolver(2, 64)) {
+            assertThrows(IOException.class, () -> solver.solve(
+                    new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), failing));
+            assertEquals(List.of(DOTTED + "," + SOLUTION), run(solver, DOTTED + "\n", summary));
+        }
+    }
+
+    @Test
+    void interruptedWorkerStopsSolvingTest() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> SudokuBatchSolver.solveLine(SEVENTEEN_CLUES));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(HARD_PUZZLE + "," + HARD_SOLUTION, SudokuBatchSolver.solveLine(HARD_PUZZLE));
+    }
+
+    @Test
+    void solvesFilesTest() throws IOException {
+        Path input = Files.createTempFile("puzzles", ".txt");
+        Path output = Files.createTempFile("solutions", ".txt");
+        try (SudokuBatchSolver solver = new SudokuBatchSolver()) {
+            Files.writeString(input, HARD_PUZZLE + "\n" + DOTTED + "\n");
+            SudokuBatchSolver.Summary summary = solver.solve(input, output);
+            assertEquals(2, summary.solved());
+            assertEquals(List.of(HARD_PUZZLE + "," + HARD_SOLUTION, DOTTED + "," + SOLUTION),
+                    Files.readAllLines(output));
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+}
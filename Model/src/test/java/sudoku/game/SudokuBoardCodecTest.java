@@ -0,0 +1,82 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SudokuBoardCodecTest {
+    private static final String PUZZLE =
+            "530070000600195000098000060800060003400803001700020006060000280000419005000080079";
+
+    private static SudokuBoard puzzle() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        for (int i = 0; i < 81; i++) {
+            int value = PUZZLE.charAt(i) - '0';
+            if (value != 0) {
+                board.set(i / 9, i % 9, value);
+            }
+        }
+        board.markGivens();
+        return board;
+    }
+
+    @Test
+    void roundTripTest() throws StreamCorruptedException {
+        SudokuBoard board = puzzle();
+        board.set(0, 2, 4);
+        board.set(8, 8, 9);
+
+        byte[] data = SudokuBoardCodec.encode(board);
+        assertEquals(SudokuBoardCodec.ENCODED_LENGTH, data.length);
+
+        SudokuBoard decoded = SudokuBoardCodec.decode(data, new BitmaskSudokuSolver());
+        assertEquals(board, decoded);
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                assertEquals(board.isGiven(row, col), decoded.isGiven(row, col));
+            }
+        }
+        assertTrue(decoded.isGiven(0, 0));
+        assertFalse(decoded.isGiven(0, 2));
+        assertFalse(decoded.isGiven(8, 0), "Empty cells are never givens");
+    }
+
+    @Test
+    void muchSmallerThanSerializationTest() throws IOException {
+        SudokuBoard board = puzzle();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(board);
+        }
+        assertTrue(SudokuBoardCodec.encode(board).length * 4 < serialized.size());
+    }
+
+    @Test
+    void corruptedChecksumTest() {
+        byte[] data = SudokuBoardCodec.encode(puzzle());
+        data[10] ^= 0x01;
+        assertThrows(StreamCorruptedException.class,
+                () -> SudokuBoardCodec.decode(data, new BacktrackingSudokuSolver()));
+    }
+
+    @Test
+    void wrongHeaderTest() {
+        byte[] data = SudokuBoardCodec.encode(puzzle());
+        byte[] badMagic = data.clone();
+        badMagic[0] = 'X';
+        byte[] badVersion = data.clone();
+        badVersion[2] = 2;
+        byte[] truncated = new byte[data.length - 1];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+        SudokuSolver solver = new BacktrackingSudokuSolver();
+        assertThrows(StreamCorruptedException.class, () -> SudokuBoardCodec.decode(badMagic, solver));
+        assertThrows(StreamCorruptedException.class, () -> SudokuBoardCodec.decode(badVersion, solver));
+        assertThrows(StreamCorruptedException.class, () -> SudokuBoardCodec.decode(truncated, solver));
+    }
+}
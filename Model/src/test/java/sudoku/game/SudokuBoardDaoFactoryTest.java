@@ -66,4 +66,15 @@ public class SudokuBoardDaoFactoryTest {
             fail("Unexpected exception during test: " + e.getMessage());
         }
     }
+
+    @Test
+    void getCompactFileDaoTest() {
+        Dao<SudokuBoard> dao = SudokuBoardDaoFactory.getFileDao(TEST_DIRECTORY, FileSudokuBoardDao.Format.COMPACT);
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        board.set(3, 3, 3);
+        dao.write(board, "compact");
+
+        assertTrue(new File(TEST_DIRECTORY, "compact.sdk").exists());
+        assertEquals(board, dao.read("compact"));
+    }
 }
@@ -5,6 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class SudokuBoardTest {
@@ -137,4 +142,199 @@ class SudokuBoardTest {
         assertNotEquals(board.get(0,0),clonedBoard.get(0,0));
     }
 
-}
\ No newline at end of file
+    @Test
+    void fieldViewWritesThroughTest() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        SudokuField field = board.getSudokuField(2, 3);
+        assertSame(field, board.getSudokuField(2, 3));
+
+        field.setFieldValue(7);
+        assertEquals(7, board.get(2, 3));
+
+        board.set(2, 3, 4);
+        assertEquals(4, field.getFieldValue());
+
+        field.setUnsolvedValue();
+        assertEquals(0, board.get(2, 3));
+    }
+
+    @Test
+    void clonedFieldIsDetachedTest() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        board.set(1, 1, 6);
+        SudokuField copy = board.getSudokuField(1, 1).clone();
+        copy.setFieldValue(2);
+        assertEquals(6, board.get(1, 1));
+        assertEquals(2, copy.getFieldValue());
+    }
+
+    @Test
+    void outOfRangeIndexTest() {
+        assertThrows(IndexOutOfBoundsException.class, () -> sudokuBoard.get(0, 9));
+        assertThrows(IndexOutOfBoundsException.class, () -> sudokuBoard.set(-1, 0, 1));
+    }
+
+    @Test
+    void unitViewsAreReusedTest() {
+        assertSame(sudokuBoard.getRow(4), sudokuBoard.getRow(4));
+        assertSame(sudokuBoard.getColumn(4), sudokuBoard.getColumn(4));
+        assertSame(sudokuBoard.getBox(3, 5), sudokuBoard.getBox(5, 3));
+        assertNotSame(sudokuBoard.getBox(0, 0), sudokuBoard.getBox(0, 3));
+    }
+
+    @Test
+    void unitViewsFollowBoardTest() {
+        SudokuRow row = sudokuBoard.getRow(0);
+        assertTrue(row.verify());
+        sudokuBoard.set(1, 0, sudokuBoard.get(2, 0));
+        assertFalse(row.verify());
+
+        SudokuBoard clone = sudokuBoard.clone();
+        assertNotSame(row, clone.getRow(0));
+        clone.set(1, 0, sudokuBoard.get(1, 0) == 9 ? 1 : sudokuBoard.get(1, 0) + 1);
+        assertNotEquals(sudokuBoard.get(1, 0), clone.get(1, 0));
+    }
+
+    @Test
+    void isMoveLegalTest() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        board.set(0, 0, 5);
+        assertFalse(board.isMoveLegal(0, 8, 5), "Same row");
+        assertFalse(board.isMoveLegal(8, 0, 5), "Same column");
+        assertFalse(board.isMoveLegal(2, 2, 5), "Same box");
+        assertTrue(board.isMoveLegal(4, 4, 5));
+        assertTrue(board.isMoveLegal(0, 0, 5), "Keeping the current value is legal");
+        assertFalse(board.isMoveLegal(4, 4, 0));
+
+        board.set(0, 8, 5);
+        assertFalse(board.isMoveLegal(0, 0, 5), "Value already conflicts with another cell");
+    }
+
+    @Test
+    void incrementalValidityTest() {
+        assertTrue(sudokuBoard.isComplete());
+        assertTrue(sudokuBoard.isValid());
+
+        int value = sudokuBoard.get(0, 0);
+        sudokuBoard.setToDefault(0, 0);
+        assertFalse(sudokuBoard.isComplete());
+        assertTrue(sudokuBoard.isValid());
+        assertFalse(sudokuBoard.checkBoard(), "A board with an empty field is not solved");
+
+        sudokuBoard.set(0, 0, sudokuBoard.get(0, 1));
+        assertFalse(sudokuBoard.isValid());
+
+        sudokuBoard.getSudokuField(0, 0).setFieldValue(value);
+        assertTrue(sudokuBoard.isValid());
+        assertTrue(sudokuBoard.checkBoard());
+    }
+
+    @Test
+    void countersSurviveCloneAndSerializationTest() throws Exception {
+        sudokuBoard.setToDefault(4, 4);
+        SudokuBoard clone = sudokuBoard.clone();
+        clone.set(4, 4, clone.get(4, 5));
+        assertFalse(clone.isValid());
+        assertTrue(sudokuBoard.isValid());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(clone);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            SudokuBoard read = (SudokuBoard) in.readObject();
+            assertEquals(clone, read);
+            assertTrue(read.isComplete());
+            assertFalse(read.isValid());
+            read.setToDefault(4, 4);
+            assertTrue(read.isValid());
+        }
+    }
+
+    @Test
+    void givensTest() {
+        sudokuBoard.setToDefault(0, 0);
+        sudokuBoard.setToDefault(8, 8);
+        assertFalse(sudokuBoard.isGiven(0, 1));
+
+        sudokuBoard.markGivens();
+        assertTrue(sudokuBoard.isGiven(0, 1));
+        assertTrue(sudokuBoard.isGiven(8, 7));
+        assertFalse(sudokuBoard.isGiven(0, 0));
+        assertFalse(sudokuBoard.isGiven(8, 8));
+
+        SudokuBoard clone = sudokuBoard.clone();
+        clone.setGiven(8, 7, false);
+        assertFalse(clone.isGiven(8, 7));
+        assertTrue(sudokuBoard.isGiven(8, 7), "Givens of a clone are independent");
+    }
+
+    @Test
+    void syncedStoreTest() {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        Object store = new Object();
+        assertFalse(board.isSyncedWith(store, "a"));
+
+        board.markClean(store, "a");
+        assertTrue(board.isSyncedWith(store, "a"));
+        assertFalse(board.isSyncedWith(store, "b"));
+        assertFalse(board.isSyncedWith(new Object(), "a"));
+        assertTrue(board.clone().isSyncedWith(store, "a"));
+
+        board.markClean();
+        assertFalse(board.isSyncedWith(store, "a"));
+    }
+
+    @Test
+    void dirtyTrackingTest() throws Exception {
+        SudokuBoard board = new SudokuBoard(new BacktrackingSudokuSolver());
+        assertTrue(board.isDirty());
+        assertTrue(board.isDirty(0, 0));
+        assertTrue(board.isDirty(8, 8));
+
+        board.markClean();
+        assertFalse(board.isDirty());
+        board.set(0, 0, 5);
+        board.set(8, 8, 3);
+        assertTrue(board.isDirty(0, 0));
+        assertTrue(board.isDirty(8, 8));
+        assertFalse(board.isDirty(4, 4));
+
+        board.markClean();
+        board.set(0, 0, 5);
+        assertFalse(board.isDirty(), "Writing the same value is not a change");
+        board.setToDefault(7, 7);
+        assertFalse(board.isDirty());
+        board.setToDefault(0, 0);
+        assertTrue(board.isDirty(0, 0));
+
+        SudokuBoard clone = board.clone();
+        assertTrue(clone.isDirty(0, 0));
+        clone.markClean();
+        assertTrue(board.isDirty(0, 0));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(clone);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertTrue(((SudokuBoard) in.readObject()).isDirty(4, 4));
+        }
+    }
+
+    @Test
+    void readsLegacySerializedBoardTest() throws Exception {
+        String puzzle = "530070000600195000098000060800060003400803001700020006060000280000419005000080079";
+        SudokuBoard board;
+        try (ObjectInputStream in = new ObjectInputStream(
+                SudokuBoardTest.class.getResourceAsStream("/legacy-board.ser"))) {
+            board = (SudokuBoard) in.readObject();
+        }
+        for (int i = 0; i < 81; i++) {
+            assertEquals(puzzle.charAt(i) - '0', board.get(i / 9, i % 9));
+        }
+        assertTrue(board.isValid());
+        board.solveGame();
+        assertTrue(board.checkBoard());
+    }
+}
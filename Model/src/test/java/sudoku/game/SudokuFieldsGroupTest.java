@@ -159,4 +159,32 @@ public class SudokuFieldsGroupTest {
         SudokuFieldsGroup box = new SudokuBox(fields);
         assertTrue(box.isValidBoard());
     }
+
+    @Test
+    void conflictMaskTest() {
+        List<SudokuField> fields = new ArrayList<>(SIZE);
+        int[] values = {1, 0, 3, 0, 5, 3, 7, 1, 3};
+        for (int value : values) {
+            SudokuField field = new SudokuField();
+            if (value != 0) {
+                field.setFieldValue(value);
+            }
+            fields.add(field);
+        }
+        SudokuFieldsGroup row = new SudokuRow(fields);
+        assertEquals(0b110100101, row.conflictMask());
+        assertFalse(row.isValidBoard());
+    }
+
+    @Test
+    void conflictMaskValidTest() {
+        sudokuBoard.solveGame();
+        assertEquals(0, sudokuBoard.getRow(3).conflictMask());
+        assertEquals(0, sudokuBoard.getBox(3, 3).conflictMask());
+        sudokuBoard.setToDefault(0, 0);
+        sudokuBoard.setToDefault(0, 1);
+        assertEquals(0, sudokuBoard.getColumn(0).conflictMask());
+        assertTrue(sudokuBoard.getColumn(0).isValidBoard());
+        assertFalse(sudokuBoard.getColumn(0).verify());
+    }
 }
@@ -0,0 +1,94 @@
+package sudoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SudokuPuzzleGeneratorTest {
+
+    private static int emptyFields(SudokuBoard board) {
+        int sum = 0;
+        for (int row = 0; row < SudokuBoard.BOARD_SIZE; row++) {
+            for (int col = 0; col < SudokuBoard.BOARD_SIZE; col++) {
+                if (board.get(row, col) == 0) {
+                    sum++;
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Test
+    void hardPuzzleIsUniqueTest() {
+        SudokuSolver solver = new BitmaskSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.solveGame();
+        SudokuBoard solution = board.clone();
+
+        int removed = new SudokuPuzzleGenerator().removeClues(board, LevelsSudoku.HARD.getNumbersToRemove());
+
+        assertEquals(removed, emptyFields(board));
+        assertEquals(1, solver.countSolutions(board, 2), "Generated puzzle must have exactly one solution");
+        solver.solve(board);
+        assertEquals(solution, board, "The only solution must be the original grid");
+    }
+
+    @Test
+    void applyLevelKeepsUniquenessTest() {
+        SudokuSolver solver = new BacktrackingSudokuSolver();
+        SudokuBoard board = new SudokuBoard(solver);
+        board.solveGame();
+        board.applyLevel(LevelsSudoku.MEDIUM);
+
+        assertEquals(LevelsSudoku.MEDIUM.getNumbersToRemove(), emptyFields(board));
+        assertEquals(1, new BitmaskSudokuSolver().countSolutions(board, 2));
+    }
+
+    @Test
+    void impossibleTargetStopsAtBudgetTest() {
+        SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+        board.solveGame();
+
+        long start = System.nanoTime();
+        int removed = new SudokuPuzzleGenerator(50).removeClues(board, 70);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(removed < 70, "No 11-clue Sudoku has a unique solution");
+        assertEquals(removed, emptyFields(board));
+        assertTrue(elapsedMillis < 1000, "Generator should respect its time budget");
+    }
+
+    @Test
+    void ambiguousBoardIsRejectedTest() {
+        SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+        board.set(0, 0, 5);
+        SudokuPuzzleGenerator generator = new SudokuPuzzleGenerator();
+        assertThrows(IllegalArgumentException.class, () -> generator.removeClues(board, 10));
+        assertThrows(IllegalArgumentException.class, () -> board.applyLevel(LevelsSudoku.EASY));
+        assertEquals(80, emptyFields(board), "Board should stay untouched");
+        assertEquals(0, generator.removeClues(board, 0));
+    }
+
+    @Test
+    void hugeTimeBudgetDoesNotOverflowTest() {
+        SudokuBoard board = new SudokuBoard(new BitmaskSudokuSolver());
+        board.solveGame();
+        assertEquals(LevelsSudoku.EASY.getNumbersToRemove(),
+                new SudokuPuzzleGenerator(Long.MAX_VALUE).removeClues(board, LevelsSudoku.EASY.getNumbersToRemove()));
+    }
+
+    @Test
+    void puzzleIsReproducibleFromSeedTest() {
+        SudokuBoard first = new SudokuBoard(new BitmaskSudokuSolver());
+        SudokuBoard second = new SudokuBoard(new BitmaskSudokuSolver());
+        new ShuffledGridGenerator(7L).fill(first);
+        new ShuffledGridGenerator(7L).fill(second);
+
+        first.applyLevel(LevelsSudoku.HARD, 7L);
+        second.applyLevel(LevelsSudoku.HARD, 7L);
+
+        assertEquals(LevelsSudoku.HARD.getNumbersToRemove(), emptyFields(first));
+        assertEquals(first, second);
+        assertEquals(1, new BitmaskSudokuSolver().countSolutions(first, 2));
+    }
+}
@@ -2,6 +2,12 @@ package sudoku.game;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SudokuSolverTest {
@@ -15,4 +21,84 @@ public class SudokuSolverTest {
 
     }
 
+    @Test
+    void countSolutionsTest() {
+        SudokuSolver solver = new BacktrackingSudokuSolver();
+        SudokuBoard sudokuBoard = new SudokuBoard(solver);
+        sudokuBoard.solveGame();
+        int removed = sudokuBoard.get(0, 0);
+        sudokuBoard.setToDefault(0, 0);
+        assertEquals(1, solver.countSolutions(sudokuBoard, 2));
+        assertEquals(0, sudokuBoard.get(0, 0), "Counting must not modify the board");
+
+        SudokuBoard emptyBoard = new SudokuBoard(solver);
+        assertEquals(2, solver.countSolutions(emptyBoard, 2));
+
+        sudokuBoard.set(0, 0, removed == 9 ? 1 : removed + 1);
+        assertEquals(0, solver.countSolutions(sudokuBoard, 2));
+    }
+
+    @Test
+    void seededSolverIsReproducibleTest() {
+        SudokuBoard first = new SudokuBoard(new BacktrackingSudokuSolver(2024L));
+        SudokuBoard second = new SudokuBoard(new BacktrackingSudokuSolver(2024L));
+        first.solveGame();
+        second.solveGame();
+        assertTrue(first.checkBoard());
+        for (int row = 0; row < SudokuBoard.BOARD_SIZE; row++) {
+            for (int col = 0; col < SudokuBoard.BOARD_SIZE; col++) {
+                assertEquals(first.get(row, col), second.get(row, col));
+            }
+        }
+    }
+
+    @Test
+    void shuffledNumbersTest() {
+        List<Integer> numbers = new BacktrackingSudokuSolver().shuffledNumbers();
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), numbers.stream().sorted().toList());
+    }
+
+    @Test
+    void defaultCountSolutionsTest() {
+        SudokuSolver bitmask = new BitmaskSudokuSolver();
+        SudokuSolver solveOnly = bitmask::solve;
+        SudokuBoard solved = new SudokuBoard(solveOnly);
+        solved.solveGame();
+        assertEquals(1, solveOnly.countSolutions(solved, 2));
+
+        SudokuBoard open = solved.clone();
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 9; col++) {
+                open.setToDefault(row, col);
+            }
+        }
+        SudokuBoard before = open.clone();
+        assertEquals(bitmask.countSolutions(open, 5), solveOnly.countSolutions(open, 5));
+        assertEquals(before, open);
+        assertEquals(0, solveOnly.countSolutions(open, 0));
+
+        SudokuBoard conflicting = new SudokuBoard(solveOnly);
+        conflicting.set(4, 4, 3);
+        conflicting.set(5, 5, 3);
+        assertEquals(0, solveOnly.countSolutions(conflicting, 2));
+        assertEquals(2, solveOnly.countSolutions(new SudokuBoard(solveOnly), 2));
+    }
+
+    @Test
+    void sharedBacktrackingSolverIsThreadSafeTest() throws Exception {
+        SudokuBoard original = new SudokuBoard(new BacktrackingSudokuSolver());
+        List<Future<SudokuBoard>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 64; i++) {
+                SudokuBoard clone = original.clone();
+                results.add(executor.submit(() -> {
+                    clone.solveGame();
+                    return clone;
+                }));
+            }
+        }
+        for (Future<SudokuBoard> result : results) {
+            assertTrue(result.get().checkBoard());
+        }
+    }
 }
@@ -9,6 +9,7 @@
 
 package view;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -18,10 +19,9 @@ import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sudoku.game.*;
-import sudoku.game.exception.DaoException;
 
 import java.io.IOException;
-import java.sql.SQLException;
+import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.ResourceBundle;
@@ -48,12 +48,15 @@ public class GameController {
 
     private SudokuBoard originalBoard;
     private SudokuBoard editableBoard;
+    // The database name the board was loaded from or last saved to, if any.
+    private String databaseName;
 
     public void initialize(LevelsSudoku difficulty) {
         SudokuSolver solver = new BacktrackingSudokuSolver();
         originalBoard = new SudokuBoard(solver);
-        originalBoard.solveGame();
+        new ShuffledGridGenerator().fill(originalBoard);
         originalBoard.applyLevel(difficulty);
+        originalBoard.markGivens();
 
         editableBoard = originalBoard.clone();
 
@@ -63,16 +66,7 @@ public class GameController {
     @FXML
     public void saveBoardToFile() {
         if (editableBoard != null) {
-            boolean isBoardValid = true;
-
-            for (int i = 0; i < 9; i++) {
-                if (!editableBoard.getBox(i, i).isValidBoard()
-                        || !editableBoard.getColumn(i).isValidBoard()
-                        || !editableBoard.getRow(i).isValidBoard()) {
-                    isBoardValid = false;
-                    break;
-                }
-            }
+            boolean isBoardValid = editableBoard.isValid();
 
             if (isBoardValid) {
                 TextInputDialog dialog = new TextInputDialog();
@@ -104,16 +98,7 @@ public class GameController {
     @FXML
     public void saveBoardToDatabase() {
         if (editableBoard != null) {
-            boolean isBoardValid = true;
-
-            for (int i = 0; i < 9; i++) {
-                if (!editableBoard.getBox(i, i).isValidBoard()
-                        || !editableBoard.getColumn(i).isValidBoard()
-                        || !editableBoard.getRow(i).isValidBoard()) {
-                    isBoardValid = false;
-                    break;
-                }
-            }
+            boolean isBoardValid = editableBoard.isValid();
 
             if (isBoardValid) {
                 TextInputDialog dialog = new TextInputDialog();
@@ -122,15 +107,7 @@ public class GameController {
                 dialog.setContentText(bundle.getString("saveToDatabase.prompt"));
 
                 Optional<String> result = dialog.showAndWait();
-                result.ifPresent(boardName -> {
-                    try (JdbcSudokuBoardDao dao = new JdbcSudokuBoardDao()) {
-                        dao.write(editableBoard, boardName);
-                        showAlertSaveBoard(bundle.getString("saveSuccessDB.text"), Alert.AlertType.INFORMATION);
-                    } catch (SQLException | DaoException e) {
-                        logger.error("Save to database failed: {}", e.getMessage());
-                        showAlertSaveBoard(bundle.getString("saveUnsuccessDB.text"), Alert.AlertType.ERROR);
-                    }
-                });
+                result.ifPresent(this::confirmDatabaseSave);
             } else {
                 showAlertSaveBoard(bundle.getString("saveUnsuccess.text"), Alert.AlertType.ERROR);
                 logger.warn("Save unsuccess");
@@ -141,6 +118,47 @@ public class GameController {
         }
     }
 
+    // Asks before replacing a stored board other than the one this game was loaded from or last saved to.
+    private void confirmDatabaseSave(String boardName) {
+        if (boardName.equals(databaseName)) {
+            writeToDatabase(boardName);
+            return;
+        }
+        saveToDatabaseButton.setDisable(true);
+        Main.database().names().whenComplete((boardNames, error) -> Platform.runLater(() -> {
+            saveToDatabaseButton.setDisable(false);
+            if (error != null) {
+                logger.error("Save to database failed: {}", error.getMessage());
+                showAlertSaveBoard(bundle.getString("saveUnsuccessDB.text"), Alert.AlertType.ERROR);
+                return;
+            }
+            if (boardNames.contains(boardName)) {
+                Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+                confirm.setHeaderText(null);
+                confirm.setContentText(MessageFormat.format(bundle.getString("saveToDatabase.overwrite"), boardName));
+                if (confirm.showAndWait().filter(ButtonType.OK::equals).isEmpty()) {
+                    return;
+                }
+            }
+            writeToDatabase(boardName);
+        }));
+    }
+
+    // The board is marked saved only once the write succeeded; until then its changes stay dirty.
+    private void writeToDatabase(String boardName) {
+        Main.database().write(editableBoard, boardName)
+                .whenComplete((saved, error) -> Platform.runLater(() -> {
+                    if (error == null) {
+                        editableBoard.markSaved(saved);
+                        databaseName = boardName;
+                        showAlertSaveBoard(bundle.getString("saveSuccessDB.text"), Alert.AlertType.INFORMATION);
+                    } else {
+                        logger.error("Save to database failed: {}", error.getMessage());
+                        showAlertSaveBoard(bundle.getString("saveUnsuccessDB.text"), Alert.AlertType.ERROR);
+                    }
+                }));
+    }
+
     private void showAlertSaveBoard(String message, Alert.AlertType type) {
         Alert alert = new Alert(type);
         alert.setHeaderText(null);
@@ -179,7 +197,7 @@ public class GameController {
                         if (newValue != null && !newValue.isEmpty()) {
                             editableBoard.set(finalI, finalJ, Integer.parseInt(newValue));
                         } else {
-                            editableBoard.set(finalI, finalJ, 0);
+                            editableBoard.setToDefault(finalI, finalJ);
                         }
                     });
                 }
@@ -192,7 +210,10 @@ public class GameController {
 
     @FXML
     public void resetBoard() {
-        editableBoard = originalBoard.clone();
+        SudokuBoard reset = originalBoard.clone();
+        // Cells the reset changes back differ from what was last saved, so they must be written again.
+        reset.markSaved(editableBoard);
+        editableBoard = reset;
         displayBoard();
     }
 
@@ -237,8 +258,13 @@ public class GameController {
     }
 
     public void initializeWithBoard(SudokuBoard loadedBoard) {
+        initializeWithBoard(loadedBoard, null);
+    }
+
+    public void initializeWithBoard(SudokuBoard loadedBoard, String databaseName) {
         this.originalBoard = loadedBoard;
         this.editableBoard = loadedBoard.clone();
+        this.databaseName = databaseName;
         displayBoard();
     }
 }
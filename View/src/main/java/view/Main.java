@@ -16,6 +16,9 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sudoku.game.AsyncSudokuBoardDao;
+import sudoku.game.JdbcConnectionPool;
+import sudoku.game.JdbcSudokuBoardDao;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -25,6 +28,8 @@ public class Main extends Application {
     private static Locale locale = Locale.getDefault();
     private static ResourceBundle bundle;
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
+    // Database calls run off the JavaFX Application Thread; controllers get results back via Platform.runLater.
+    private static AsyncSudokuBoardDao database;
 
     public static void setLocale(Locale newLocale) {
         locale = newLocale;
@@ -35,6 +40,13 @@ public class Main extends Application {
         return locale;
     }
 
+    public static synchronized AsyncSudokuBoardDao database() {
+        if (database == null) {
+            database = new AsyncSudokuBoardDao(JdbcSudokuBoardDao::new, true);
+        }
+        return database;
+    }
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         try {
@@ -53,6 +65,22 @@ public class Main extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        synchronized (Main.class) {
+            if (database != null) {
+                database.close();
+                database = null;
+            }
+        }
+        JdbcConnectionPool.shared().close();
+        try {
+            StartFormController.closeSavesDao();
+        } catch (Exception e) {
+            logger.error("Closing saves error {}", e.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
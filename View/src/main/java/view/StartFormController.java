@@ -9,6 +9,7 @@
 
 package view;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -17,14 +18,10 @@ import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sudoku.game.FileSudokuBoardDao;
-import sudoku.game.JdbcSudokuBoardDao;
 import sudoku.game.LevelsSudoku;
 import sudoku.game.SudokuBoard;
-import sudoku.game.exception.DaoException;
 
-import java.io.File;
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -32,6 +29,8 @@ import java.util.ResourceBundle;
 
 public class StartFormController {
     private static final Logger logger = LoggerFactory.getLogger(StartFormController.class);
+    // Shared across start screens so the cached save names survive scene changes.
+    private static FileSudokuBoardDao savesDao;
     @FXML
     private Label difficultLabel;
     @FXML
@@ -53,6 +52,21 @@ public class StartFormController {
     @FXML
     private ToggleGroup difficultyGroup;
 
+    private static synchronized FileSudokuBoardDao savesDao() {
+        if (savesDao == null) {
+            savesDao = new FileSudokuBoardDao("saves");
+        }
+        return savesDao;
+    }
+
+    // Stops the saves directory watcher; called when the application exits.
+    static synchronized void closeSavesDao() throws Exception {
+        if (savesDao != null) {
+            savesDao.close();
+            savesDao = null;
+        }
+    }
+
     @FXML
     public void initialize() {
         Locale systemLocale = Locale.getDefault();
@@ -134,57 +148,61 @@ public class StartFormController {
 
     @FXML
     public void loadGameFromDatabase() {
-        try (JdbcSudokuBoardDao dao = new JdbcSudokuBoardDao()) {
-            List<String> boardNames = dao.names();
+        loadFromDatabaseButton.setDisable(true);
+        Main.database().names().whenComplete((boardNames, error) -> Platform.runLater(() -> {
+            loadFromDatabaseButton.setDisable(false);
+            if (error != null) {
+                logger.error("Error fetching board names: {}", error.getMessage());
+                showDatabaseError("Failed to retrieve board names from the database.");
+                return;
+            }
             ChoiceDialog<String> dialog = new ChoiceDialog<>(boardNames.isEmpty() ? "" : boardNames.get(0), boardNames);
             ResourceBundle bundle = ResourceBundle.getBundle("Bundle.messages", Locale.getDefault());
             dialog.setTitle(bundle.getString("loadFromDatabase.title"));
             dialog.setHeaderText(bundle.getString("loadFromDatabase.header"));
             dialog.setContentText(bundle.getString("loadFromDatabase.prompt"));
 
-
             Optional<String> result = dialog.showAndWait();
-            result.ifPresent(boardName -> {
-                try {
-                    SudokuBoard loadedBoard = dao.read(boardName);
-
-                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/GameForm.fxml"));
-                    loader.setResources(bundle);
-                    Scene scene = new Scene(loader.load());
-
-                    GameController controller = loader.getController();
-                    controller.initializeWithBoard(loadedBoard);
-                    controller.setBundle(bundle);
-
-                    Stage stage = (Stage) loadFromDatabaseButton.getScene().getWindow();
-                    stage.setScene(scene);
-                    stage.show();
-                } catch (DaoException | IOException e) {
-                    logger.error("Error loading board: {}", e.getMessage());
-                    Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setHeaderText(null);
-                    alert.setContentText("Failed to load the selected board from the database.");
-                    alert.showAndWait();
-                }
-            });
-        } catch (SQLException e) {
-            logger.error("Error fetching board names: {}", e.getMessage());
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setHeaderText(null);
-            alert.setContentText("Failed to retrieve board names from the database.");
-            alert.showAndWait();
+            result.ifPresent(boardName -> Main.database().read(boardName)
+                    .whenComplete((loadedBoard, readError) -> Platform.runLater(
+                            () -> showLoadedBoard(loadedBoard, boardName, readError, bundle))));
+        }));
+    }
+
+    private void showLoadedBoard(SudokuBoard loadedBoard, String boardName, Throwable error, ResourceBundle bundle) {
+        if (error != null) {
+            logger.error("Error loading board: {}", error.getMessage());
+            showDatabaseError("Failed to load the selected board from the database.");
+            return;
+        }
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/GameForm.fxml"));
+            loader.setResources(bundle);
+            Scene scene = new Scene(loader.load());
+
+            GameController controller = loader.getController();
+            controller.initializeWithBoard(loadedBoard, boardName);
+            controller.setBundle(bundle);
+
+            Stage stage = (Stage) loadFromDatabaseButton.getScene().getWindow();
+            stage.setScene(scene);
+            stage.show();
+        } catch (IOException e) {
+            logger.error("Error loading the game view: {}", e.getMessage());
         }
     }
 
+    private void showDatabaseError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
     @FXML
     public void loadGame() {
-        File savesDirectory = new File("saves");
-        if (!savesDirectory.exists() || !savesDirectory.isDirectory()) {
-            savesDirectory.mkdirs();
-        }
-
-        File[] files = savesDirectory.listFiles((dir, name) -> name.endsWith(".ser"));
-        if (files == null || files.length == 0) {
+        List<String> fileNames = savesDao().names();
+        if (fileNames.isEmpty()) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setHeaderText(null);
             alert.setContentText("No saved games found.");
@@ -192,11 +210,6 @@ public class StartFormController {
             return;
         }
 
-        List<String> fileNames = List.of(files).stream()
-                .map(File::getName)
-                .map(name -> name.substring(0, name.lastIndexOf('.')))
-                .toList();
-
         ChoiceDialog<String> dialog = new ChoiceDialog<>(fileNames.get(0), fileNames);
         ResourceBundle bundle = ResourceBundle.getBundle("Bundle.messages", Locale.getDefault());
         dialog.setTitle(bundle.getString("loadFromFile.title"));
@@ -206,8 +219,7 @@ public class StartFormController {
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(fileName -> {
             try {
-                FileSudokuBoardDao dao = new FileSudokuBoardDao(savesDirectory.getPath());
-                SudokuBoard loadedBoard = dao.read(fileName);
+                SudokuBoard loadedBoard = savesDao().read(fileName);
 
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/GameForm.fxml"));
                 loader.setResources(bundle);